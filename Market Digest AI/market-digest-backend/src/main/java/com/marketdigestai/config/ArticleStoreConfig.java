@@ -0,0 +1,63 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-company article store behind incremental NewsAPI queries.
+ *
+ * <p>
+ * When {@code news.store.persist-dir} is set, articles are appended to one JSON-lines file per company and
+ * reloaded on startup, so a restart only asks NewsAPI for what was published since the newest stored article.
+ * </p>
+ */
+@Configuration
+public class ArticleStoreConfig {
+    @Value("${news.store.enabled:true}")
+    private boolean enabled;
+
+    @Value("${news.store.persist-dir:}")
+    private String persistDir;
+
+    @Value("${news.store.max-companies:500}")
+    private long maxCompanies;
+
+    @Value("${news.store.max-articles-per-company:200}")
+    private int maxArticlesPerCompany;
+
+    @Value("${news.store.latest-size:10}")
+    private int latestSize;
+
+    @Value("${news.store.from-overlap:10m}")
+    private Duration fromOverlap;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getPersistDir() {
+        return persistDir;
+    }
+
+    public boolean isPersistent() {
+        return persistDir != null && !persistDir.isBlank();
+    }
+
+    public long getMaxCompanies() {
+        return maxCompanies;
+    }
+
+    public int getMaxArticlesPerCompany() {
+        return maxArticlesPerCompany;
+    }
+
+    public int getLatestSize() {
+        return latestSize;
+    }
+
+    public Duration getFromOverlap() {
+        return fromOverlap;
+    }
+}
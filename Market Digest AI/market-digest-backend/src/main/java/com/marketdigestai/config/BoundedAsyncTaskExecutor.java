@@ -0,0 +1,50 @@
+package com.marketdigestai.config;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Thread-per-task executor that admits at most {@code maxTasks} tasks at a time and rejects the rest with a
+ * {@link TaskRejectedException}, as a full {@code ThreadPoolTaskExecutor} queue does.
+ *
+ * <p>
+ * {@link #setConcurrencyLimit(int)} would block the submitter until a task finishes instead. Pipeline stages submit
+ * to each other's executors from their own threads, so waiting submitters on two executors can wait for each other
+ * forever, and a request thread would wait past its deadline. Callers already handle rejection as a failed company.
+ * </p>
+ */
+public class BoundedAsyncTaskExecutor extends SimpleAsyncTaskExecutor {
+    private final int maxTasks;
+    private final Semaphore permits;
+
+    public BoundedAsyncTaskExecutor(String threadNamePrefix, int maxTasks) {
+        super(threadNamePrefix);
+        this.maxTasks = maxTasks;
+        this.permits = new Semaphore(maxTasks);
+    }
+
+    @Override
+    protected void doExecute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new TaskRejectedException(getThreadNamePrefix() + " executor is at its limit of " + maxTasks + " tasks");
+        }
+        try {
+            super.doExecute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getActiveTasks() {
+        return maxTasks - permits.availablePermits();
+    }
+}
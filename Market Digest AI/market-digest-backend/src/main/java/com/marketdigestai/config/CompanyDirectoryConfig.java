@@ -0,0 +1,37 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+/**
+ * Settings for the company universe behind {@code GET /api/companies}.
+ *
+ * <p>
+ * {@code companies.universe} is a Spring resource location ({@code classpath:}, {@code file:}, ...) of a CSV
+ * file with the columns {@code name,ticker,aliases,featured}; aliases are separated by {@code |}.
+ * </p>
+ */
+@Configuration
+public class CompanyDirectoryConfig {
+    @Value("${companies.universe:classpath:companies.csv}")
+    private Resource universe;
+
+    @Value("${companies.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${companies.search.max-limit:100}")
+    private int maxLimit;
+
+    public Resource getUniverse() {
+        return universe;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+}
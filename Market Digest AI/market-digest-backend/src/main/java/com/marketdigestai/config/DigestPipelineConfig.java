@@ -0,0 +1,72 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Settings for {@code POST /api/digest}.
+ *
+ * <p>
+ * {@code digest.pipeline.mode} selects the implementation: {@code blocking} (default) runs the
+ * {@code RestTemplate} services on executors, {@code reactive} runs fetch and summarize on WebClient without
+ * holding a thread per in-flight call.
+ * </p>
+ */
+@Configuration
+public class DigestPipelineConfig {
+    @Value("${digest.pipeline.concurrency:8}")
+    private int concurrency;
+
+    @Value("${digest.pipeline.news-timeout:8s}")
+    private Duration newsTimeout;
+
+    @Value("${digest.pipeline.summarize-timeout:30s}")
+    private Duration summarizeTimeout;
+
+    @Value("${digest.pipeline.summarize-threads:16}")
+    private int summarizeThreads;
+
+    @Value("${digest.pipeline.queue-capacity:256}")
+    private int queueCapacity;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getNewsTimeout() {
+        return newsTimeout;
+    }
+
+    public Duration getSummarizeTimeout() {
+        return summarizeTimeout;
+    }
+
+    /**
+     * Runs the blocking pipeline's Gemini calls, kept apart from the news fetch pool so that long generations
+     * cannot starve news fetches.
+     */
+    @Bean
+    public AsyncTaskExecutor digestExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Admits what the platform pool would hold; the Gemini guard limits the calls themselves
+            BoundedAsyncTaskExecutor executor = new BoundedAsyncTaskExecutor("digest-", summarizeThreads + queueCapacity);
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(summarizeThreads);
+        executor.setMaxPoolSize(summarizeThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("digest-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,7 +1,12 @@
 package com.marketdigestai.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class GeminiApiConfig {
@@ -11,6 +16,24 @@ public class GeminiApiConfig {
     @Value("${llm.gemini.api.url}")
     private String geminiApiUrl;
 
+    @Value("${llm.gemini.debug-sample-rate:0.01}")
+    private double debugSampleRate;
+
+    @Value("${llm.gemini.batch.max-companies:5}")
+    private int batchMaxCompanies;
+
+    @Value("${llm.gemini.batch.max-prompt-tokens:6000}")
+    private int batchMaxPromptTokens;
+
+    @Value("${llm.gemini.stream.url:}")
+    private String geminiStreamUrl;
+
+    @Value("${llm.gemini.stream.timeout-ms:120000}")
+    private long streamTimeoutMs;
+
+    @Value("${llm.gemini.stream.max-concurrency:16}")
+    private int streamMaxConcurrency;
+
     public String getGeminiApiKey() {
         return geminiApiKey;
     }
@@ -18,4 +41,49 @@ public class GeminiApiConfig {
     public String getGeminiApiUrl() {
         return geminiApiUrl;
     }
+
+    public double getDebugSampleRate() {
+        return debugSampleRate;
+    }
+
+    public int getBatchMaxCompanies() {
+        return batchMaxCompanies;
+    }
+
+    public int getBatchMaxPromptTokens() {
+        return batchMaxPromptTokens;
+    }
+
+    /**
+     * URL of the {@code streamGenerateContent} endpoint with server-sent events enabled.
+     * Derived from {@code llm.gemini.api.url} unless {@code llm.gemini.stream.url} is set.
+     */
+    public String getGeminiStreamUrl() {
+        if (geminiStreamUrl != null && !geminiStreamUrl.isBlank()) {
+            return geminiStreamUrl;
+        }
+        String url = geminiApiUrl.replace(":generateContent", ":streamGenerateContent");
+        return url + (url.contains("?") ? "&" : "?") + "alt=sse";
+    }
+
+    public long getStreamTimeoutMs() {
+        return streamTimeoutMs;
+    }
+
+    @Bean
+    public AsyncTaskExecutor summarizeStreamExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Streams mostly wait on Gemini, so virtual threads are cheap; streams beyond the limit are rejected
+            BoundedAsyncTaskExecutor executor = new BoundedAsyncTaskExecutor("summarize-stream-", streamMaxConcurrency);
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(streamMaxConcurrency);
+        executor.setMaxPoolSize(streamMaxConcurrency);
+        executor.setQueueCapacity(streamMaxConcurrency * 4);
+        executor.setThreadNamePrefix("summarize-stream-");
+        executor.initialize();
+        return executor;
+    }
 }
@@ -0,0 +1,189 @@
+package com.marketdigestai.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.IdleConnectionEvictor;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Outbound HTTP layer shared by {@code NewsApiService} and {@code GeminiApiService}.
+ *
+ * <p>
+ * Both upstreams draw from one pooled, keep-alive connection manager with a global and per-host
+ * connection cap, so a slow upstream cannot open sockets without bound. Each upstream gets its own
+ * {@link RestTemplate} because a Gemini generation legitimately takes far longer than a NewsAPI search.
+ * Pool usage is published as {@code httpcomponents.httpclient.pool.*} metrics, tagged {@code httpclient=outbound}.
+ * </p>
+ * <p>
+ * The reactive digest pipeline uses {@link WebClient}s on Reactor Netty instead. They share a separate
+ * non-blocking pool sized and timed by the same {@code http.client.*} settings.
+ * </p>
+ */
+@Configuration
+public class HttpClientConfig {
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout:3s}")
+    private Duration connectTimeout;
+
+    @Value("${http.client.connection-request-timeout:2s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${http.client.time-to-live:5m}")
+    private Duration timeToLive;
+
+    @Value("${http.client.evict-idle-after:30s}")
+    private Duration evictIdleAfter;
+
+    @Value("${http.client.news.max-connections:20}")
+    private int newsMaxConnections;
+
+    @Value("${http.client.news.response-timeout:10s}")
+    private Duration newsResponseTimeout;
+
+    @Value("${http.client.gemini.max-connections:20}")
+    private int geminiMaxConnections;
+
+    @Value("${http.client.gemini.response-timeout:60s}")
+    private Duration geminiResponseTimeout;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(NewsApiConfig newsApiConfig,
+                                                                        GeminiApiConfig geminiApiConfig,
+                                                                        MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .build())
+                .build();
+        connectionManager.setMaxPerRoute(route(newsApiConfig.getNewsApiUrl()), newsMaxConnections);
+        connectionManager.setMaxPerRoute(route(geminiApiConfig.getGeminiApiUrl()), geminiMaxConnections);
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "outbound").bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    /**
+     * The clients only share the manager, so neither of them runs an evictor for it; this one closes expired
+     * connections and those idle for longer than {@code http.client.evict-idle-after}, checking that often.
+     */
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public IdleConnectionEvictor outboundConnectionEvictor(
+            @Qualifier("outboundConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return new IdleConnectionEvictor(connectionManager, TimeValue.of(evictIdleAfter), TimeValue.of(evictIdleAfter));
+    }
+
+    @Bean
+    public RestTemplate newsRestTemplate(RestTemplateBuilder builder,
+                                         @Qualifier("outboundConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return restTemplate(builder, connectionManager, newsResponseTimeout);
+    }
+
+    @Bean
+    public RestTemplate geminiRestTemplate(RestTemplateBuilder builder,
+                                           @Qualifier("outboundConnectionManager") PoolingHttpClientConnectionManager connectionManager) {
+        return restTemplate(builder, connectionManager, geminiResponseTimeout);
+    }
+
+    private RestTemplate restTemplate(RestTemplateBuilder builder, PoolingHttpClientConnectionManager connectionManager,
+                                      Duration responseTimeout) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // The manager is a separate bean shared by both clients; closing a client must not close it
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .build();
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+    }
+
+    /**
+     * Reactor Netty keeps one pool per remote host, so the limits mirror the per-route caps above.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider reactiveConnectionProvider(NewsApiConfig newsApiConfig, GeminiApiConfig geminiApiConfig) {
+        return ConnectionProvider.builder("outbound-reactive")
+                .maxConnections(maxPerRoute)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(evictIdleAfter)
+                .maxLifeTime(timeToLive)
+                .forRemoteHost(address(newsApiConfig.getNewsApiUrl()), spec -> spec.maxConnections(newsMaxConnections))
+                .forRemoteHost(address(geminiApiConfig.getGeminiApiUrl()), spec -> spec.maxConnections(geminiMaxConnections))
+                .build();
+    }
+
+    @Bean
+    public WebClient newsWebClient(WebClient.Builder builder,
+                                   @Qualifier("reactiveConnectionProvider") ConnectionProvider connectionProvider) {
+        return webClient(builder, connectionProvider, newsResponseTimeout);
+    }
+
+    @Bean
+    public WebClient geminiWebClient(WebClient.Builder builder,
+                                     @Qualifier("reactiveConnectionProvider") ConnectionProvider connectionProvider) {
+        return webClient(builder, connectionProvider, geminiResponseTimeout);
+    }
+
+    private WebClient webClient(WebClient.Builder builder, ConnectionProvider connectionProvider,
+                                Duration responseTimeout) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(responseTimeout);
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Routes are planned as secure for https targets, and a route only matches its per-route cap when the flag agrees.
+     */
+    private static HttpRoute route(String url) {
+        URI uri = URI.create(url);
+        HttpHost host = new HttpHost(uri.getScheme(), uri.getHost(), port(uri));
+        return new HttpRoute(host, null, "https".equalsIgnoreCase(uri.getScheme()));
+    }
+
+    private static InetSocketAddress address(String url) {
+        URI uri = URI.create(url);
+        return InetSocketAddress.createUnresolved(uri.getHost(), port(uri));
+    }
+
+    private static int port(URI uri) {
+        return uri.getPort() != -1 ? uri.getPort() : ("https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80);
+    }
+}
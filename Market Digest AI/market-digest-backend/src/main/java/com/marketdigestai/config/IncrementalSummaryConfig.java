@@ -0,0 +1,53 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for updating a company's previous summary with only the articles it has not seen yet.
+ *
+ * <p>
+ * An update falls back to a full summary when there is no previous summary, when more than
+ * {@code max-new-ratio} of the articles are new, or after {@code max-updates} consecutive updates,
+ * so small errors in the carried-over summary cannot accumulate indefinitely.
+ * </p>
+ */
+@Configuration
+public class IncrementalSummaryConfig {
+    @Value("${llm.gemini.incremental.enabled:false}")
+    private boolean enabled;
+
+    @Value("${llm.gemini.incremental.max-companies:500}")
+    private long maxCompanies;
+
+    @Value("${llm.gemini.incremental.expire-after-write:24h}")
+    private Duration expireAfterWrite;
+
+    @Value("${llm.gemini.incremental.max-updates:5}")
+    private int maxUpdates;
+
+    @Value("${llm.gemini.incremental.max-new-ratio:0.5}")
+    private double maxNewRatio;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getMaxCompanies() {
+        return maxCompanies;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public int getMaxUpdates() {
+        return maxUpdates;
+    }
+
+    public double getMaxNewRatio() {
+        return maxNewRatio;
+    }
+}
@@ -0,0 +1,25 @@
+package com.marketdigestai.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Meter filters applied to every registry.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * {@code http.client.requests} tags each call with its request URL, and both upstreams put their credential in
+     * the query: NewsAPI's {@code apiKey} and Gemini's {@code key}. Dropping the query keeps the keys out of the
+     * metrics and the tag bounded by the endpoint path.
+     */
+    @Bean
+    public MeterFilter uriWithoutQuery() {
+        return MeterFilter.replaceTagValues("uri", uri -> {
+            int query = uri.indexOf('?');
+            return query >= 0 ? uri.substring(0, query) : uri;
+        });
+    }
+}
@@ -8,7 +8,15 @@ public class NewsApiConfig {
     @Value("${news.api.key}")
     private String newsApiKey;
 
+    // Overridable so load tests can point the backend at a local stub instead of spending quota
+    @Value("${news.api.url:https://newsapi.org/v2/everything}")
+    private String newsApiUrl;
+
     public String getNewsApiKey() {
         return newsApiKey;
     }
+
+    public String getNewsApiUrl() {
+        return newsApiUrl;
+    }
 }
@@ -0,0 +1,71 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-process cache in front of NewsAPI.
+ *
+ * <p>
+ * Entries older than {@code refresh-after-write} are still served, but trigger a background reload
+ * (stale-while-revalidate). Entries older than {@code expire-after-write} are dropped and the next
+ * request waits for NewsAPI again.
+ * </p>
+ */
+@Configuration
+public class NewsCacheConfig {
+    @Value("${news.cache.max-size:500}")
+    private long maxSize;
+
+    @Value("${news.cache.refresh-after-write:5m}")
+    private Duration refreshAfterWrite;
+
+    @Value("${news.cache.expire-after-write:30m}")
+    private Duration expireAfterWrite;
+
+    @Value("${news.cache.refresh-threads:4}")
+    private int refreshThreads;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    /**
+     * Runs stale-while-revalidate reloads. Kept apart from {@code newsFetchExecutor} so fetches that outlive a
+     * request's deadline cannot starve refreshes, and a burst of refreshes cannot delay interactive fetches.
+     */
+    @Bean
+    public AsyncTaskExecutor newsRefreshExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            // Admits what the platform pool would hold; Caffeine logs and skips a rejected refresh
+            BoundedAsyncTaskExecutor executor = new BoundedAsyncTaskExecutor("news-refresh-",
+                    (int) Math.min(refreshThreads + maxSize, Integer.MAX_VALUE));
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(refreshThreads);
+        executor.setMaxPoolSize(refreshThreads);
+        // Refreshes of the same company coalesce, so the queue only needs to hold one per cached company
+        executor.setQueueCapacity((int) Math.min(maxSize, Integer.MAX_VALUE));
+        executor.setThreadNamePrefix("news-refresh-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,24 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Settings for collapsing near-duplicate articles (the same wire story under several sources).
+ */
+@Configuration
+public class NewsDedupConfig {
+    @Value("${news.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${news.dedup.max-hamming-distance:12}")
+    private int maxHammingDistance;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxHammingDistance() {
+        return maxHammingDistance;
+    }
+}
@@ -0,0 +1,54 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Settings for fanning out multi-company news requests to NewsAPI.
+ */
+@Configuration
+public class NewsFetchConfig {
+    @Value("${news.fetch.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Value("${news.fetch.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${news.fetch.deadline-ms:8000}")
+    private long deadlineMs;
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    /**
+     * With {@code spring.threads.virtual.enabled} on Java 21 every fetch gets its own virtual thread. Fetches the
+     * platform pool would hold (running plus queued) run at once, and further ones are rejected as from a full queue;
+     * the outbound connection pool and NewsAPI rate limiter still bound the calls themselves.
+     */
+    @Bean
+    public AsyncTaskExecutor newsFetchExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            BoundedAsyncTaskExecutor executor = new BoundedAsyncTaskExecutor("news-fetch-", maxConcurrency + queueCapacity);
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrency);
+        executor.setMaxPoolSize(maxConcurrency);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("news-fetch-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,49 @@
+package com.marketdigestai.config;
+
+import com.marketdigestai.resilience.RequestPriority;
+import com.marketdigestai.resilience.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * Client-side request budget for NewsAPI, sized to the key's plan.
+ */
+@Configuration
+public class NewsRateLimitConfig {
+    @Value("${news.ratelimit.burst:5}")
+    private int burst;
+
+    @Value("${news.ratelimit.permits-per-second:1.0}")
+    private double permitsPerSecond;
+
+    @Value("${news.ratelimit.daily-quota:100}")
+    private long dailyQuota;
+
+    @Value("${news.ratelimit.background-reserve:20}")
+    private long backgroundReserve;
+
+    @Value("${news.ratelimit.quota-zone:UTC}")
+    private String quotaZone;
+
+    @Value("${news.ratelimit.interactive-max-wait:5s}")
+    private Duration interactiveMaxWait;
+
+    @Value("${news.ratelimit.background-max-wait:10s}")
+    private Duration backgroundMaxWait;
+
+    public Duration maxWaitFor(RequestPriority priority) {
+        return priority == RequestPriority.INTERACTIVE ? interactiveMaxWait : backgroundMaxWait;
+    }
+
+    @Bean
+    public TokenBucketRateLimiter newsRateLimiter(MeterRegistry meterRegistry) {
+        return new TokenBucketRateLimiter("newsapi", Clock.systemUTC(), burst, permitsPerSecond, dailyQuota,
+                backgroundReserve, ZoneId.of(quotaZone), meterRegistry);
+    }
+}
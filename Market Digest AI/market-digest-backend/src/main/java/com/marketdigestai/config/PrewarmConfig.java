@@ -0,0 +1,68 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Settings for the background job that pre-fetches news and summaries.
+ *
+ * <p>
+ * The per-run budgets cap how many NewsAPI and Gemini calls a single refresh may spend, so the job
+ * cannot eat the daily quota of the API keys on its own.
+ * </p>
+ */
+@Configuration
+public class PrewarmConfig {
+    @Value("${digest.prewarm.concurrency:4}")
+    private int concurrency;
+
+    @Value("${digest.prewarm.adhoc-top-n:10}")
+    private int adhocTopN;
+
+    @Value("${digest.prewarm.max-news-calls-per-run:25}")
+    private int maxNewsCallsPerRun;
+
+    @Value("${digest.prewarm.max-summaries-per-run:25}")
+    private int maxSummariesPerRun;
+
+    @Value("${digest.prewarm.summarize:true}")
+    private boolean summarize;
+
+    public int getAdhocTopN() {
+        return adhocTopN;
+    }
+
+    public int getMaxNewsCallsPerRun() {
+        return maxNewsCallsPerRun;
+    }
+
+    public int getMaxSummariesPerRun() {
+        return maxSummariesPerRun;
+    }
+
+    public boolean isSummarize() {
+        return summarize;
+    }
+
+    @Bean
+    public AsyncTaskExecutor prewarmExecutor(Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("prewarm-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrency);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("prewarm-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,41 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for turning a company's articles into a Gemini prompt.
+ */
+@Configuration
+public class PromptConfig {
+    @Value("${llm.gemini.prompt.max-tokens:3000}")
+    private int maxTokens;
+
+    @Value("${llm.gemini.prompt.max-description-chars:400}")
+    private int maxDescriptionChars;
+
+    @Value("${llm.gemini.prompt.preferred-sources:Reuters,Bloomberg,Associated Press,Financial Times,The Wall Street Journal,CNBC}")
+    private List<String> preferredSources;
+
+    @Value("${llm.gemini.prompt.preferred-source-boost:6h}")
+    private Duration preferredSourceBoost;
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getMaxDescriptionChars() {
+        return maxDescriptionChars;
+    }
+
+    public List<String> getPreferredSources() {
+        return preferredSources;
+    }
+
+    public Duration getPreferredSourceBoost() {
+        return preferredSourceBoost;
+    }
+}
@@ -0,0 +1,88 @@
+package com.marketdigestai.config;
+
+import com.marketdigestai.resilience.AdaptiveConcurrencyLimiter;
+import com.marketdigestai.resilience.CircuitBreaker;
+import com.marketdigestai.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Circuit breakers and adaptive concurrency limits for the NewsAPI and Gemini upstreams.
+ * Breaker and AIMD tuning is shared; open duration, limits, the "slow call" latency and how long a blocking call
+ * waits for a permit are per upstream.
+ */
+@Configuration
+public class ResilienceConfig {
+    @Value("${resilience.circuit.window-size:20}")
+    private int windowSize;
+
+    @Value("${resilience.circuit.minimum-calls:10}")
+    private int minimumCalls;
+
+    @Value("${resilience.circuit.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${resilience.circuit.half-open-calls:2}")
+    private int halfOpenCalls;
+
+    @Value("${resilience.limit.min:1}")
+    private int minLimit;
+
+    @Value("${resilience.limit.backoff-ratio:0.7}")
+    private double backoffRatio;
+
+    @Value("${resilience.news.open-duration:30s}")
+    private Duration newsOpenDuration;
+
+    @Value("${resilience.news.initial-limit:8}")
+    private int newsInitialLimit;
+
+    @Value("${resilience.news.max-limit:16}")
+    private int newsMaxLimit;
+
+    @Value("${resilience.news.latency-threshold:3s}")
+    private Duration newsLatencyThreshold;
+
+    @Value("${resilience.news.acquire-timeout:0s}")
+    private Duration newsAcquireTimeout;
+
+    @Value("${resilience.gemini.open-duration:60s}")
+    private Duration geminiOpenDuration;
+
+    @Value("${resilience.gemini.initial-limit:8}")
+    private int geminiInitialLimit;
+
+    @Value("${resilience.gemini.max-limit:16}")
+    private int geminiMaxLimit;
+
+    @Value("${resilience.gemini.latency-threshold:20s}")
+    private Duration geminiLatencyThreshold;
+
+    @Value("${resilience.gemini.acquire-timeout:2s}")
+    private Duration geminiAcquireTimeout;
+
+    @Bean
+    public UpstreamGuard newsGuard(MeterRegistry meterRegistry) {
+        return guard("newsapi", newsOpenDuration, newsInitialLimit, newsMaxLimit, newsLatencyThreshold,
+                newsAcquireTimeout, meterRegistry);
+    }
+
+    @Bean
+    public UpstreamGuard geminiGuard(MeterRegistry meterRegistry) {
+        return guard("gemini", geminiOpenDuration, geminiInitialLimit, geminiMaxLimit, geminiLatencyThreshold,
+                geminiAcquireTimeout, meterRegistry);
+    }
+
+    private UpstreamGuard guard(String name, Duration openDuration, int initialLimit, int maxLimit,
+                                Duration latencyThreshold, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                openDuration, halfOpenCalls, System::nanoTime);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                backoffRatio, latencyThreshold);
+        return new UpstreamGuard(name, circuitBreaker, limiter, acquireTimeout, meterRegistry);
+    }
+}
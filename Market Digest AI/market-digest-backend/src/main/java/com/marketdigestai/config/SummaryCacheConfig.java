@@ -0,0 +1,42 @@
+package com.marketdigestai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings for the cache of generated summaries.
+ *
+ * <p>
+ * When {@code summary.cache.persist-dir} is set, every cached summary is also written to that directory
+ * and reloaded on startup, so a restart does not pay for the same Gemini calls again.
+ * </p>
+ */
+@Configuration
+public class SummaryCacheConfig {
+    @Value("${summary.cache.max-size:200}")
+    private long maxSize;
+
+    @Value("${summary.cache.expire-after-write:6h}")
+    private Duration expireAfterWrite;
+
+    @Value("${summary.cache.persist-dir:}")
+    private String persistDir;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public Duration getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public String getPersistDir() {
+        return persistDir;
+    }
+
+    public boolean isPersistent() {
+        return persistDir != null && !persistDir.isBlank();
+    }
+}
@@ -0,0 +1,101 @@
+package com.marketdigestai.controller;
+
+import com.marketdigestai.dto.NewsArticleDto;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Cacheable GET responses for polling clients.
+ *
+ * <p>
+ * The ETag is derived from what identifies the content, not from the content itself: each controller feeds a
+ * {@link Version} with the article identities ({@code url}, {@code publishedAt}, duplicate count) and the summary
+ * cache versions behind the body, so a poll costs a few hashed strings instead of serializing the whole payload.
+ * It is weak because the same content may be sent as JSON, Smile or CBOR and gzip-compressed or not. Spring MVC
+ * compares it with {@code If-None-Match} and answers {@code 304 Not Modified} without a body.
+ * </p>
+ */
+final class ConditionalResponses {
+    private ConditionalResponses() {
+    }
+
+    /**
+     * @param maxAge how long the client may reuse the response without asking again
+     */
+    static <T> ResponseEntity<T> ok(T body, Version version, Duration maxAge) {
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .cacheControl(cacheControl(maxAge))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    /**
+     * For handlers returning a {@code Mono}: Spring Security writes its {@code no-store} headers when the request
+     * thread is released, before the {@link ResponseEntity} exists, so the caching header has to be set first.
+     * Pair with {@link #ok(Object, Version)}.
+     */
+    static void cacheFor(HttpServletResponse response, Duration maxAge) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(maxAge).getHeaderValue());
+    }
+
+    static <T> ResponseEntity<T> ok(T body, Version version) {
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+
+    private static CacheControl cacheControl(Duration maxAge) {
+        return CacheControl.maxAge(maxAge).cachePrivate().mustRevalidate();
+    }
+
+    /**
+     * Accumulates the parts that identify a response body, in body order.
+     */
+    static final class Version {
+        private final MessageDigest digest;
+
+        Version() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+
+        Version add(Object part) {
+            // Parts are separated by a byte UTF-8 text never contains, so ("ab", "c") and ("a", "bc") differ
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0xFF);
+            return this;
+        }
+
+        /**
+         * Articles are identified by URL and publish time; the duplicate count changes when a copy is folded in.
+         */
+        Version addArticles(List<NewsArticleDto> articles) {
+            add(articles != null ? articles.size() : -1);
+            if (articles != null) {
+                for (NewsArticleDto article : articles) {
+                    add(article.getUrl()).add(article.getPublishedAt()).add(article.getDuplicateCount());
+                }
+            }
+            return this;
+        }
+
+        String etag() {
+            // 128 bits are plenty to tell two versions of the same resource apart
+            return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.marketdigestai.controller;
+
+import com.marketdigestai.config.NewsCacheConfig;
+import com.marketdigestai.controller.ConditionalResponses.Version;
+import com.marketdigestai.dto.CompanyDigestDto;
+import com.marketdigestai.dto.NewsRequestDto;
+import com.marketdigestai.pipeline.DigestPipeline;
+import com.marketdigestai.service.CompanyPopularityTracker;
+import com.marketdigestai.service.SummaryCache;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * News plus summary for several companies in one call, replacing a {@code /api/news} round trip followed by one
+ * {@code /api/summarize} per company.
+ *
+ * <p>
+ * With {@code Accept: application/x-ndjson} or {@code text/event-stream} each company's digest is written as
+ * soon as it completes; plain {@code application/json} gets them all as one array. Returning a {@link Flux}
+ * lets Spring MVC release the request thread while the pipeline waits on upstreams.
+ * </p>
+ *
+ * <p>
+ * {@code GET /api/digest?company=A&company=B} is the polling variant: it returns the collected array with an
+ * ETag derived from the article identities and summary cache versions, so a dashboard revalidating with
+ * {@code If-None-Match} gets {@code 304 Not Modified} while neither news nor summaries have changed.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/digest")
+public class DigestController {
+    private final DigestPipeline digestPipeline;
+    private final CompanyPopularityTracker popularityTracker;
+    private final NewsCacheConfig newsCacheConfig;
+    private final SummaryCache summaryCache;
+
+    @Autowired
+    public DigestController(DigestPipeline digestPipeline, CompanyPopularityTracker popularityTracker,
+                            NewsCacheConfig newsCacheConfig, SummaryCache summaryCache) {
+        this.digestPipeline = digestPipeline;
+        this.popularityTracker = popularityTracker;
+        this.newsCacheConfig = newsCacheConfig;
+        this.summaryCache = summaryCache;
+    }
+
+    // No "produces": MVC picks streaming vs. a collected array from the Accept header, see class comment
+    @PostMapping
+    public Flux<CompanyDigestDto> digest(@RequestBody NewsRequestDto request) {
+        request.getCompanies().forEach(popularityTracker::record);
+        return digestPipeline.digest(request.getCompanies());
+    }
+
+    // Summaries are keyed on the articles, so the news refresh interval bounds how long either can go stale
+    @GetMapping
+    public Mono<ResponseEntity<List<CompanyDigestDto>>> pollDigest(@RequestParam("company") List<String> companies,
+                                                              HttpServletResponse response) {
+        companies.forEach(popularityTracker::record);
+        ConditionalResponses.cacheFor(response, newsCacheConfig.getRefreshAfterWrite());
+        // Digests arrive in completion order; sort them so the same digests always give the same ETag
+        return digestPipeline.digest(companies)
+                .collectSortedList(Comparator.comparingInt(digest -> companies.indexOf(digest.getCompany())))
+                .map(digests -> ConditionalResponses.ok(digests, version(digests)));
+    }
+
+    private Version version(List<CompanyDigestDto> digests) {
+        Version version = new Version();
+        for (CompanyDigestDto digest : digests) {
+            version.add(digest.getCompany()).add(digest.getStatus()).add(digest.getError())
+                    .addArticles(digest.getArticles());
+            if (digest.getSummary() == null) {
+                version.add("no summary");
+            } else {
+                // 0 for a fallback, which is never cached and follows from the articles alone
+                version.add(summaryCache.storedAt(summaryCache.keyFor(digest.getCompany(), digest.getArticles()),
+                        digest.getSummary()));
+            }
+        }
+        return version;
+    }
+}
@@ -1,35 +1,78 @@
 package com.marketdigestai.controller;
 
+import com.marketdigestai.config.NewsCacheConfig;
+import com.marketdigestai.controller.ConditionalResponses.Version;
+import com.marketdigestai.dto.CompanyNewsResultDto;
 import com.marketdigestai.dto.NewsArticleDto;
 import com.marketdigestai.dto.NewsRequestDto;
+import com.marketdigestai.service.CompanyPopularityTracker;
 import com.marketdigestai.service.NewsApiService;
+import com.marketdigestai.service.NewsFetchService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/news")
 public class NewsController {
+    private final NewsFetchService newsFetchService;
     private final NewsApiService newsApiService;
+    private final CompanyPopularityTracker popularityTracker;
+    private final NewsCacheConfig newsCacheConfig;
 
     @Autowired
-    public NewsController(NewsApiService newsApiService) {
+    public NewsController(NewsFetchService newsFetchService, NewsApiService newsApiService,
+                          CompanyPopularityTracker popularityTracker, NewsCacheConfig newsCacheConfig) {
+        this.newsFetchService = newsFetchService;
         this.newsApiService = newsApiService;
+        this.popularityTracker = popularityTracker;
+        this.newsCacheConfig = newsCacheConfig;
     }
 
     @PostMapping
     public ResponseEntity<Map<String, List<NewsArticleDto>>> getNewsForCompanies(@RequestBody NewsRequestDto request) {
-        Map<String, List<NewsArticleDto>> result = new HashMap<>();
-        for (String company : request.getCompanies()) {
-            result.put(company, newsApiService.fetchNewsForCompany(company));
+        return ResponseEntity.ok(articlesByCompany(request.getCompanies()));
+    }
+
+    // Same body as the POST, for polling: ?company=A&company=B, answered with 304 while the articles are unchanged
+    @GetMapping
+    public ResponseEntity<Map<String, List<NewsArticleDto>>> pollNewsForCompanies(@RequestParam("company") List<String> companies) {
+        Map<String, List<NewsArticleDto>> articles = articlesByCompany(companies);
+        Version version = new Version();
+        articles.forEach((company, companyArticles) -> version.add(company).addArticles(companyArticles));
+        return ConditionalResponses.ok(articles, version, newsCacheConfig.getRefreshAfterWrite());
+    }
+
+    @PostMapping("/detailed")
+    public ResponseEntity<Map<String, CompanyNewsResultDto>> getNewsWithStatus(@RequestBody NewsRequestDto request) {
+        request.getCompanies().forEach(popularityTracker::record);
+        return ResponseEntity.ok(newsFetchService.fetchAll(request.getCompanies()));
+    }
+
+    // Articles accumulated across fetches, beyond the latest page served by POST /api/news
+    @GetMapping("/history")
+    public ResponseEntity<List<NewsArticleDto>> getHistory(@RequestParam String company,
+                                                           @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(newsApiService.historyForCompany(company, limit));
+    }
+
+    private Map<String, List<NewsArticleDto>> articlesByCompany(List<String> companies) {
+        companies.forEach(popularityTracker::record);
+        Map<String, List<NewsArticleDto>> result = new LinkedHashMap<>();
+        newsFetchService.fetchAll(companies)
+                .forEach((company, companyResult) -> result.put(company, companyResult.getArticles()));
+        return result;
     }
 }
@@ -1,28 +1,120 @@
 package com.marketdigestai.controller;
 
+import com.marketdigestai.config.GeminiApiConfig;
+import com.marketdigestai.dto.BatchSummarizeRequestDto;
 import com.marketdigestai.dto.SummarizeRequestDto;
 import com.marketdigestai.dto.SummarizeResponseDto;
 import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.SummaryStreamListener;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/summarize")
 public class SummarizeController {
     private final GeminiApiService geminiApiService;
+    private final GeminiApiConfig geminiApiConfig;
+    private final AsyncTaskExecutor streamExecutor;
 
     @Autowired
-    public SummarizeController(GeminiApiService geminiApiService) {
+    public SummarizeController(GeminiApiService geminiApiService, GeminiApiConfig geminiApiConfig,
+                               @Qualifier("summarizeStreamExecutor") AsyncTaskExecutor streamExecutor) {
         this.geminiApiService = geminiApiService;
+        this.geminiApiConfig = geminiApiConfig;
+        this.streamExecutor = streamExecutor;
     }
 
     @PostMapping
     public ResponseEntity<SummarizeResponseDto> summarize(@RequestBody SummarizeRequestDto request) {
-        SummarizeResponseDto response = geminiApiService.summarize(request.getCompany(), request.getArticles());
+        SummarizeResponseDto response = request.getIncremental() != null
+                ? geminiApiService.summarize(request.getCompany(), request.getArticles(), request.getIncremental())
+                : geminiApiService.summarize(request.getCompany(), request.getArticles());
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Summarizes several companies at once; Gemini is called with as few combined prompts as the batch limits allow.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Map<String, SummarizeResponseDto>> summarizeBatch(@RequestBody BatchSummarizeRequestDto request) {
+        return ResponseEntity.ok(geminiApiService.summarizeBatch(request.getRequests()));
+    }
+
+    /**
+     * Streams the summary as server-sent events while Gemini generates it.
+     * Events: {@code token}, {@code summary}, {@code keyPoint}, {@code sentiment} and finally {@code done}
+     * carrying the complete {@link SummarizeResponseDto}.
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter summarizeStream(@RequestBody SummarizeRequestDto request) {
+        SseEmitter emitter = new SseEmitter(geminiApiConfig.getStreamTimeoutMs());
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    geminiApiService.summarizeStream(request.getCompany(), request.getArticles(), new SseSummaryListener(emitter));
+                    emitter.complete();
+                } catch (Exception e) {
+                    emitter.completeWithError(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private static final class SseSummaryListener implements SummaryStreamListener {
+        private final SseEmitter emitter;
+
+        private SseSummaryListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onToken(String text) {
+            send("token", Map.of("text", text));
+        }
+
+        @Override
+        public void onSummaryDelta(String text) {
+            send("summary", Map.of("text", text));
+        }
+
+        @Override
+        public void onKeyPoint(String keyPoint) {
+            send("keyPoint", Map.of("text", keyPoint));
+        }
+
+        @Override
+        public void onSentiment(String sentiment) {
+            send("sentiment", Map.of("text", sentiment));
+        }
+
+        @Override
+        public void onComplete(SummarizeResponseDto summary) {
+            send("done", summary);
+        }
+
+        private void send(String event, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException e) {
+                // Client went away: abort the upstream stream as well
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package com.marketdigestai.dto;
+
+import java.util.List;
+
+public class BatchSummarizeRequestDto {
+    private List<SummarizeRequestDto> requests;
+
+    // Getters and Setters
+    public List<SummarizeRequestDto> getRequests() {
+        return requests;
+    }
+
+    public void setRequests(List<SummarizeRequestDto> requests) {
+        this.requests = requests;
+    }
+}
@@ -0,0 +1,80 @@
+package com.marketdigestai.dto;
+
+import java.util.List;
+
+/**
+ * News and summary for one company, as produced by the digest pipeline.
+ * {@code summary} is {@code null} when the news fetch failed or found no articles.
+ */
+public class CompanyDigestDto {
+    private String company;
+    private CompanyNewsResultDto.Status status;
+    private List<NewsArticleDto> articles;
+    private SummarizeResponseDto summary;
+    private long elapsedMs;
+    private String error;
+
+    // No-argument constructor
+    public CompanyDigestDto() {
+    }
+
+    // All-arguments constructor
+    public CompanyDigestDto(String company, CompanyNewsResultDto.Status status, List<NewsArticleDto> articles,
+                            SummarizeResponseDto summary, long elapsedMs, String error) {
+        this.company = company;
+        this.status = status;
+        this.articles = articles;
+        this.summary = summary;
+        this.elapsedMs = elapsedMs;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public CompanyNewsResultDto.Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(CompanyNewsResultDto.Status status) {
+        this.status = status;
+    }
+
+    public List<NewsArticleDto> getArticles() {
+        return articles;
+    }
+
+    public void setArticles(List<NewsArticleDto> articles) {
+        this.articles = articles;
+    }
+
+    public SummarizeResponseDto getSummary() {
+        return summary;
+    }
+
+    public void setSummary(SummarizeResponseDto summary) {
+        this.summary = summary;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,69 @@
+package com.marketdigestai.dto;
+
+import java.util.List;
+
+public class CompanyNewsResultDto {
+    public enum Status {
+        OK, FAILED, TIMED_OUT
+    }
+
+    private String company;
+    private Status status;
+    private List<NewsArticleDto> articles;
+    private long elapsedMs;
+    private String error;
+
+    // No-argument constructor
+    public CompanyNewsResultDto() {
+    }
+
+    // All-arguments constructor
+    public CompanyNewsResultDto(String company, Status status, List<NewsArticleDto> articles, long elapsedMs, String error) {
+        this.company = company;
+        this.status = status;
+        this.articles = articles;
+        this.elapsedMs = elapsedMs;
+        this.error = error;
+    }
+
+    // Getters and Setters
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public List<NewsArticleDto> getArticles() {
+        return articles;
+    }
+
+    public void setArticles(List<NewsArticleDto> articles) {
+        this.articles = articles;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
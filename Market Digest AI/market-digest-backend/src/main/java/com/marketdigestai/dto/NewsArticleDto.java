@@ -1,11 +1,21 @@
 package com.marketdigestai.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
 public class NewsArticleDto {
     private String title;
     private String description;
     private String url;
     private String publishedAt;
     private String sourceName;
+    // Near-duplicate cluster metadata: how many other copies were collapsed into this article, and their sources.
+    // Omitted for articles without duplicates, so those serialize exactly as before clustering existed.
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    private int duplicateCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<String> duplicateSources;
 
     // No-argument constructor
     public NewsArticleDto() {
@@ -60,4 +70,20 @@ public class NewsArticleDto {
     public void setSourceName(String sourceName) {
         this.sourceName = sourceName;
     }
+
+    public int getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    public void setDuplicateCount(int duplicateCount) {
+        this.duplicateCount = duplicateCount;
+    }
+
+    public List<String> getDuplicateSources() {
+        return duplicateSources;
+    }
+
+    public void setDuplicateSources(List<String> duplicateSources) {
+        this.duplicateSources = duplicateSources;
+    }
 }
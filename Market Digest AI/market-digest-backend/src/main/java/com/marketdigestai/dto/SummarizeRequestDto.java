@@ -5,6 +5,18 @@ import java.util.List;
 public class SummarizeRequestDto {
     private String company;
     private List<NewsArticleDto> articles;
+    // Optional: update the previous summary with only new articles; null uses llm.gemini.incremental.enabled
+    private Boolean incremental;
+
+    // No-argument constructor
+    public SummarizeRequestDto() {
+    }
+
+    // All-arguments constructor
+    public SummarizeRequestDto(String company, List<NewsArticleDto> articles) {
+        this.company = company;
+        this.articles = articles;
+    }
 
     // Getters and Setters
     public String getCompany() {
@@ -22,4 +34,12 @@ public class SummarizeRequestDto {
     public void setArticles(List<NewsArticleDto> articles) {
         this.articles = articles;
     }
+
+    public Boolean getIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(Boolean incremental) {
+        this.incremental = incremental;
+    }
 }
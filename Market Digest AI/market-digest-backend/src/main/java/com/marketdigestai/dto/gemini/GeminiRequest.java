@@ -0,0 +1,19 @@
+package com.marketdigestai.dto.gemini;
+
+import java.util.List;
+
+/**
+ * Request body for Gemini's {@code generateContent} and {@code streamGenerateContent} endpoints.
+ */
+public record GeminiRequest(List<Content> contents) {
+
+    public static GeminiRequest ofPrompt(String prompt) {
+        return new GeminiRequest(List.of(new Content(List.of(new Part(prompt)))));
+    }
+
+    public record Content(List<Part> parts) {
+    }
+
+    public record Part(String text) {
+    }
+}
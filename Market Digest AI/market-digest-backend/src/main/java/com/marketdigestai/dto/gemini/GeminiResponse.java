@@ -0,0 +1,57 @@
+package com.marketdigestai.dto.gemini;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Response envelope of Gemini's {@code generateContent} and {@code streamGenerateContent} endpoints.
+ * Only the fields the backend reads are mapped.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record GeminiResponse(List<Candidate> candidates, UsageMetadata usageMetadata) {
+
+    /**
+     * Text of the first candidate, with all of its parts joined; empty when there is none.
+     */
+    public String firstCandidateText() {
+        if (candidates == null || candidates.isEmpty()) {
+            return "";
+        }
+        Content content = candidates.get(0).content();
+        if (content == null || content.parts() == null) {
+            return "";
+        }
+        if (content.parts().size() == 1) {
+            String text = content.parts().get(0).text();
+            return text != null ? text : "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (Part part : content.parts()) {
+            if (part.text() != null) {
+                text.append(part.text());
+            }
+        }
+        return text.toString();
+    }
+
+    public boolean hasCandidates() {
+        return candidates != null && !candidates.isEmpty();
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Candidate(Content content, String finishReason) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Content(List<Part> parts) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Part(String text) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record UsageMetadata(Integer promptTokenCount, Integer candidatesTokenCount, Integer totalTokenCount) {
+    }
+}
@@ -0,0 +1,84 @@
+package com.marketdigestai.pipeline;
+
+import com.marketdigestai.config.DigestPipelineConfig;
+import com.marketdigestai.dto.CompanyDigestDto;
+import com.marketdigestai.dto.CompanyNewsResultDto;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Per-company fetch → summarize composition shared by both pipelines.
+ *
+ * <p>
+ * Each company is summarized as soon as its own news arrives, and its digest is emitted as soon as the summary
+ * is ready, so fast companies are not held back by slow ones. At most {@code digest.pipeline.concurrency}
+ * companies of one request are in flight. A news fetch exceeding {@code digest.pipeline.news-timeout} marks the
+ * company {@code TIMED_OUT}; subclasses turn a summary exceeding {@code digest.pipeline.summarize-timeout}
+ * into the fallback summary.
+ * </p>
+ */
+abstract class AbstractDigestPipeline implements DigestPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(AbstractDigestPipeline.class);
+    private final DigestPipelineConfig pipelineConfig;
+
+    AbstractDigestPipeline(DigestPipelineConfig pipelineConfig) {
+        this.pipelineConfig = pipelineConfig;
+    }
+
+    /**
+     * @return the company's (de-duplicated) articles
+     */
+    protected abstract Mono<List<NewsArticleDto>> fetchNews(String company);
+
+    /**
+     * @return the summary, or the fallback summary when Gemini fails or exceeds {@code timeout}
+     */
+    protected abstract Mono<SummarizeResponseDto> summarize(String company, List<NewsArticleDto> articles,
+                                                            Duration timeout);
+
+    @Override
+    public Flux<CompanyDigestDto> digest(List<String> companies) {
+        return Flux.fromIterable(companies)
+                .filter(company -> company != null && !company.isBlank())
+                .distinct()
+                .flatMap(this::digestCompany, pipelineConfig.getConcurrency());
+    }
+
+    private Mono<CompanyDigestDto> digestCompany(String company) {
+        long start = System.nanoTime();
+        return fetchNews(company)
+                .timeout(pipelineConfig.getNewsTimeout())
+                .flatMap(articles -> {
+                    if (articles.isEmpty()) {
+                        return Mono.just(digest(company, articles, null, start));
+                    }
+                    return summarize(company, articles, pipelineConfig.getSummarizeTimeout())
+                            .map(summary -> digest(company, articles, summary, start));
+                })
+                .onErrorResume(e -> {
+                    CompanyNewsResultDto.Status status = e instanceof TimeoutException
+                            ? CompanyNewsResultDto.Status.TIMED_OUT : CompanyNewsResultDto.Status.FAILED;
+                    // Class name only: messages of HTTP exceptions can carry the request URL and its API key
+                    String error = e.getClass().getSimpleName();
+                    logger.warn("Digest for {} failed: {}", company, error);
+                    return Mono.just(new CompanyDigestDto(company, status, List.of(), null, elapsedMs(start), error));
+                });
+    }
+
+    private static CompanyDigestDto digest(String company, List<NewsArticleDto> articles, SummarizeResponseDto summary,
+                                           long startNanos) {
+        return new CompanyDigestDto(company, CompanyNewsResultDto.Status.OK, articles, summary, elapsedMs(startNanos), null);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
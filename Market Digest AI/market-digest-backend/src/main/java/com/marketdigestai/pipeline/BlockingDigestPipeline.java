@@ -0,0 +1,57 @@
+package com.marketdigestai.pipeline;
+
+import com.marketdigestai.config.DigestPipelineConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.NewsApiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Default pipeline over the blocking {@code RestTemplate} services. News fetches run on the news fetch executor
+ * and summaries on {@code digestExecutor}, so the request thread is released while they run.
+ */
+@Component
+@ConditionalOnProperty(name = "digest.pipeline.mode", havingValue = "blocking", matchIfMissing = true)
+public class BlockingDigestPipeline extends AbstractDigestPipeline {
+    private final NewsApiService newsApiService;
+    private final GeminiApiService geminiApiService;
+    private final Scheduler newsScheduler;
+    private final Scheduler summarizeScheduler;
+
+    @Autowired
+    public BlockingDigestPipeline(NewsApiService newsApiService, GeminiApiService geminiApiService,
+                                  DigestPipelineConfig pipelineConfig,
+                                  @Qualifier("newsFetchExecutor") AsyncTaskExecutor newsFetchExecutor,
+                                  @Qualifier("digestExecutor") AsyncTaskExecutor digestExecutor) {
+        super(pipelineConfig);
+        this.newsApiService = newsApiService;
+        this.geminiApiService = geminiApiService;
+        this.newsScheduler = Schedulers.fromExecutor(newsFetchExecutor);
+        this.summarizeScheduler = Schedulers.fromExecutor(digestExecutor);
+    }
+
+    @Override
+    protected Mono<List<NewsArticleDto>> fetchNews(String company) {
+        return Mono.fromCallable(() -> newsApiService.fetchNewsForCompany(company))
+                .subscribeOn(newsScheduler);
+    }
+
+    @Override
+    protected Mono<SummarizeResponseDto> summarize(String company, List<NewsArticleDto> articles, Duration timeout) {
+        // A timed-out call keeps its thread until Gemini answers; its result still lands in the summary cache
+        return Mono.fromCallable(() -> geminiApiService.summarize(company, articles))
+                .subscribeOn(summarizeScheduler)
+                .timeout(timeout, Mono.fromSupplier(() -> geminiApiService.fallbackSummary(company, articles)));
+    }
+}
@@ -0,0 +1,17 @@
+package com.marketdigestai.pipeline;
+
+import com.marketdigestai.dto.CompanyDigestDto;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Fetches news and summarizes it for a list of companies.
+ */
+public interface DigestPipeline {
+    /**
+     * @param companies company names as sent by the client; blanks and duplicates are ignored
+     * @return one digest per distinct company, emitted as each one completes (not in request order)
+     */
+    Flux<CompanyDigestDto> digest(List<String> companies);
+}
@@ -0,0 +1,43 @@
+package com.marketdigestai.pipeline;
+
+import com.marketdigestai.config.DigestPipelineConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.NewsApiService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Non-blocking pipeline on WebClient: no thread is held while waiting on NewsAPI or Gemini, so concurrent
+ * dashboards are bounded by the connection pools and upstream guards, not by threads.
+ */
+@Component
+@ConditionalOnProperty(name = "digest.pipeline.mode", havingValue = "reactive")
+public class ReactiveDigestPipeline extends AbstractDigestPipeline {
+    private final NewsApiService newsApiService;
+    private final GeminiApiService geminiApiService;
+
+    @Autowired
+    public ReactiveDigestPipeline(NewsApiService newsApiService, GeminiApiService geminiApiService,
+                                  DigestPipelineConfig pipelineConfig) {
+        super(pipelineConfig);
+        this.newsApiService = newsApiService;
+        this.geminiApiService = geminiApiService;
+    }
+
+    @Override
+    protected Mono<List<NewsArticleDto>> fetchNews(String company) {
+        return newsApiService.fetchNewsReactive(company);
+    }
+
+    @Override
+    protected Mono<SummarizeResponseDto> summarize(String company, List<NewsArticleDto> articles, Duration timeout) {
+        return geminiApiService.summarizeReactive(company, articles, timeout);
+    }
+}
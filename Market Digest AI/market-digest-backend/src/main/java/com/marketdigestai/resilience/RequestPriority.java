@@ -0,0 +1,11 @@
+package com.marketdigestai.resilience;
+
+/**
+ * Who is waiting for an upstream call. Interactive requests are served ahead of background work.
+ */
+public enum RequestPriority {
+    /** A user is waiting on the response, e.g. a cache miss. */
+    INTERACTIVE,
+    /** Cache refreshes and pre-warming; may wait longer and never uses the quota reserve. */
+    BACKGROUND
+}
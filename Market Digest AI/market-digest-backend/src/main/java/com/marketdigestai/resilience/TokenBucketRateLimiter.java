@@ -0,0 +1,271 @@
+package com.marketdigestai.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side token bucket with a daily quota, for upstreams that enforce per-key request limits.
+ *
+ * <p>
+ * The bucket holds up to {@code capacity} permits and refills at {@code permitsPerSecond}. Callers queue in
+ * priority order ({@link RequestPriority#INTERACTIVE} first, then arrival order) and only the head of the queue
+ * may take a permit, so a burst of background refreshes cannot starve a user request. Each permit also counts
+ * against the daily quota, which resets at midnight in {@code quotaZone}; the last {@code backgroundReserve}
+ * calls of the day are kept for interactive requests.
+ * </p>
+ * <p>
+ * All time is read from the supplied {@link Clock}, and waiting goes through {@link #await(long)}, so tests can
+ * drive refills, queueing and the quota reset with a fake clock and no real sleeps. Published metrics, tagged with {@code limiter}: {@code ratelimit.wait} (per priority),
+ * {@code ratelimit.rejected} (per reason), {@code ratelimit.queue}, {@code ratelimit.quota.used} and
+ * {@code ratelimit.quota.remaining}.
+ * </p>
+ */
+public class TokenBucketRateLimiter {
+    private final String name;
+    private final Clock clock;
+    private final double capacity;
+    private final double permitsPerMilli;
+    private final long dailyQuota;
+    private final long backgroundReserve;
+    private final ZoneId quotaZone;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparing(Waiter::priority).thenComparingLong(Waiter::sequence));
+    private final Map<RequestPriority, Timer> waitTimers = new EnumMap<>(RequestPriority.class);
+    private final MeterRegistry meterRegistry;
+
+    private double tokens;
+    private long lastRefill;
+    private long sequence;
+    private LocalDate quotaDay;
+    private long usedToday;
+
+    /**
+     * @param dailyQuota calls allowed per day; zero or negative disables the quota
+     */
+    public TokenBucketRateLimiter(String name, Clock clock, int capacity, double permitsPerSecond, long dailyQuota,
+                                  long backgroundReserve, ZoneId quotaZone, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.clock = clock;
+        this.capacity = capacity;
+        this.permitsPerMilli = permitsPerSecond / 1000.0;
+        this.dailyQuota = dailyQuota;
+        this.backgroundReserve = backgroundReserve;
+        this.quotaZone = quotaZone;
+        this.meterRegistry = meterRegistry;
+        this.tokens = capacity;
+        this.lastRefill = clock.millis();
+        this.quotaDay = today();
+
+        for (RequestPriority priority : RequestPriority.values()) {
+            waitTimers.put(priority, Timer.builder("ratelimit.wait")
+                    .description("Time spent queueing for a rate limit permit")
+                    .tag("limiter", name)
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("ratelimit.queue", this, TokenBucketRateLimiter::getQueueLength)
+                .tag("limiter", name).register(meterRegistry);
+        Gauge.builder("ratelimit.quota.used", this, TokenBucketRateLimiter::getUsedToday)
+                .tag("limiter", name).register(meterRegistry);
+        if (dailyQuota > 0) {
+            Gauge.builder("ratelimit.quota.remaining", this, limiter -> dailyQuota - limiter.getUsedToday())
+                    .tag("limiter", name).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Waits for a permit.
+     * @throws UpstreamUnavailableException if the daily quota is used up for this priority, or no permit
+     * became available within {@code maxWait}
+     */
+    public void acquire(RequestPriority priority, Duration maxWait) {
+        long start = clock.millis();
+        long deadline = start + maxWait.toMillis();
+        lock.lock();
+        Waiter me = enqueue(priority);
+        try {
+            while (true) {
+                long untilToken = tryTake(me);
+                long now = clock.millis();
+                if (untilToken == 0) {
+                    waitTimers.get(priority).record(now - start, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                long remaining = deadline - now;
+                if (remaining <= 0) {
+                    throw reject("wait_timeout", "no permit within " + maxWait.toMillis() + " ms");
+                }
+                await(Math.max(1, Math.min(remaining, untilToken)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException(name, "interrupted while waiting for a rate limit permit");
+        } finally {
+            dequeue(me);
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a permit taken by {@link #acquire} for a call that was never made, e.g. because the circuit
+     * breaker rejected it, so it counts neither against the bucket nor the daily quota.
+     */
+    public void release() {
+        lock.lock();
+        try {
+            refill(clock.millis());
+            tokens = Math.min(capacity, tokens + 1);
+            rollQuotaDay();
+            usedToday = Math.max(0, usedToday - 1);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parks the calling waiter, with the lock held, for at most {@code millis} or until the queue or the bucket
+     * changes. Tests override this to advance their clock instead of sleeping.
+     */
+    void await(long millis) throws InterruptedException {
+        changed.await(millis, TimeUnit.MILLISECONDS);
+    }
+
+    // The steps of acquire(), package-private so tests can interleave several waiters on one thread
+
+    Waiter enqueue(RequestPriority priority) {
+        lock.lock();
+        try {
+            Waiter waiter = new Waiter(priority, sequence++);
+            waiters.add(waiter);
+            return waiter;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a permit if {@code waiter} is at the head of the queue and the bucket has one.
+     * @return 0 when a permit was taken, otherwise how many milliseconds are worth waiting before trying again
+     * @throws UpstreamUnavailableException if the daily quota is used up for the waiter's priority
+     */
+    long tryTake(Waiter waiter) {
+        lock.lock();
+        try {
+            refill(clock.millis());
+            checkQuota(waiter.priority());
+            if (waiters.peek() != waiter) {
+                return Long.MAX_VALUE;
+            }
+            if (tokens >= 1) {
+                tokens -= 1;
+                usedToday++;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / permitsPerMilli));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void dequeue(Waiter waiter) {
+        lock.lock();
+        try {
+            waiters.remove(waiter);
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Empties the bucket, e.g. after the upstream answered {@code 429 Too Many Requests}, so callers back off
+     * until it refills.
+     */
+    public void drain() {
+        lock.lock();
+        try {
+            refill(clock.millis());
+            tokens = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getUsedToday() {
+        lock.lock();
+        try {
+            rollQuotaDay();
+            return usedToday;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueueLength() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * permitsPerMilli);
+            lastRefill = now;
+        }
+    }
+
+    private void checkQuota(RequestPriority priority) {
+        if (dailyQuota <= 0) {
+            return;
+        }
+        rollQuotaDay();
+        long allowed = priority == RequestPriority.BACKGROUND ? dailyQuota - backgroundReserve : dailyQuota;
+        if (usedToday >= allowed) {
+            throw reject("quota_exhausted", "daily quota exhausted for " + priority.name().toLowerCase() + " calls");
+        }
+    }
+
+    private void rollQuotaDay() {
+        LocalDate today = today();
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            usedToday = 0;
+        }
+    }
+
+    private LocalDate today() {
+        return LocalDate.ofInstant(clock.instant(), quotaZone);
+    }
+
+    private UpstreamUnavailableException reject(String reason, String message) {
+        Counter.builder("ratelimit.rejected")
+                .tag("limiter", name)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        return new UpstreamUnavailableException(name, message);
+    }
+
+    record Waiter(RequestPriority priority, long sequence) {
+    }
+}
@@ -0,0 +1,216 @@
+package com.marketdigestai.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.reactive.function.client.WebClientException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker plus adaptive bulkhead in front of one upstream API.
+ *
+ * <p>
+ * Only HTTP client exceptions ({@link RestClientException}, {@link WebClientException}) and timeouts count as
+ * upstream failures. Client errors other than {@code 429 Too Many Requests} are problems with our request, and
+ * other runtime exceptions (such as a streaming listener whose client went away) are problems on our side, so
+ * neither trips the breaker nor shrinks the limit.
+ * Blocking calls wait up to {@code acquireTimeout} for a permit when the limit is reached; reactive calls never wait,
+ * since they run on threads that must not block.
+ * Published metrics, tagged with {@code upstream}: {@code upstream.concurrency.limit}, {@code upstream.inflight},
+ * {@code upstream.circuit.state} (0 closed, 1 half-open, 2 open), {@code upstream.rejected} (tagged {@code reason})
+ * and {@code upstream.calls}, the duration of every admitted call tagged {@code outcome} (success, failure, or
+ * ignored for errors that are not the upstream's fault and for cancellations).
+ * </p>
+ */
+public class UpstreamGuard {
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Duration acquireTimeout;
+    private final Counter rejectedOpen;
+    private final Counter rejectedLimit;
+    private final Timer succeededCalls;
+    private final Timer failedCalls;
+    private final Timer ignoredCalls;
+
+    public UpstreamGuard(String name, CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter limiter,
+                         MeterRegistry meterRegistry) {
+        this(name, circuitBreaker, limiter, Duration.ZERO, meterRegistry);
+    }
+
+    /**
+     * @param acquireTimeout how long a blocking call may wait for a permit before it is rejected
+     */
+    public UpstreamGuard(String name, CircuitBreaker circuitBreaker, AdaptiveConcurrencyLimiter limiter,
+                         Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.limiter = limiter;
+        this.acquireTimeout = acquireTimeout;
+        Gauge.builder("upstream.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("upstream", name).register(meterRegistry);
+        Gauge.builder("upstream.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .tag("upstream", name).register(meterRegistry);
+        Gauge.builder("upstream.circuit.state", circuitBreaker, cb -> cb.getState().ordinal())
+                .tag("upstream", name).register(meterRegistry);
+        this.rejectedOpen = Counter.builder("upstream.rejected")
+                .tag("upstream", name).tag("reason", "circuit_open").register(meterRegistry);
+        this.rejectedLimit = Counter.builder("upstream.rejected")
+                .tag("upstream", name).tag("reason", "concurrency_limit").register(meterRegistry);
+        this.succeededCalls = callTimer(name, "success", meterRegistry);
+        this.failedCalls = callTimer(name, "failure", meterRegistry);
+        this.ignoredCalls = callTimer(name, "ignored", meterRegistry);
+    }
+
+    private static Timer callTimer(String upstream, String outcome, MeterRegistry meterRegistry) {
+        return Timer.builder("upstream.calls")
+                .description("Duration of calls admitted to the upstream API")
+                .tag("upstream", upstream)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call if the breaker and the bulkhead allow it.
+     * @throws UpstreamUnavailableException if the call was rejected without being attempted
+     */
+    public <T> T execute(Supplier<T> call) {
+        return execute(call, true);
+    }
+
+    /**
+     * Like {@link #execute}, for streamed responses whose duration follows the length of the output rather than
+     * the upstream's health: a long stream that succeeds does not count as slow and leaves the concurrency limit
+     * as it is. Failures still trip the breaker and shrink the limit.
+     */
+    public <T> T executeStreaming(Supplier<T> call) {
+        return execute(call, false);
+    }
+
+    private <T> T execute(Supplier<T> call, boolean sampleLatency) {
+        Permit permit = acquire(sampleLatency, acquireTimeout);
+        try {
+            T result = call.get();
+            permit.succeeded();
+            return result;
+        } catch (RuntimeException e) {
+            permit.failed(e);
+            throw e;
+        } finally {
+            // No-op once an outcome was reported; releases the permit if the call threw an Error
+            permit.ignored();
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute}: the permit is taken on subscription and released when the
+     * returned {@link Mono} completes, fails or is cancelled. Rejections are signalled as
+     * {@link UpstreamUnavailableException} errors.
+     */
+    public <T> Mono<T> executeReactive(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Permit permit = acquire(true, Duration.ZERO);
+            return call.get()
+                    .doOnSuccess(result -> permit.succeeded())
+                    .doOnError(permit::failed)
+                    .doOnCancel(permit::ignored);
+        });
+    }
+
+    /**
+     * Fails fast while the circuit is open, for callers that spend something else (such as a rate limit permit)
+     * before {@link #execute}. Does not take a permit; {@link #execute} may still reject the call.
+     * @throws UpstreamUnavailableException if the circuit is open
+     */
+    public void checkCircuit() {
+        if (!circuitBreaker.isCallPermitted()) {
+            rejectedOpen.increment();
+            throw new UpstreamUnavailableException(name, "circuit open");
+        }
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    private Permit acquire(boolean sampleLatency, Duration maxWait) {
+        // Waiting is pointless while the circuit is open
+        checkCircuit();
+        if (!limiter.tryAcquire(maxWait)) {
+            rejectedLimit.increment();
+            throw new UpstreamUnavailableException(name, "concurrency limit reached");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            limiter.onIgnored();
+            rejectedOpen.increment();
+            throw new UpstreamUnavailableException(name, "circuit open");
+        }
+        return new Permit(System.nanoTime(), sampleLatency);
+    }
+
+    private static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            return clientError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        if (e instanceof WebClientResponseException responseError && responseError.getStatusCode().is4xxClientError()) {
+            return responseError.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return e instanceof RestClientException || e instanceof WebClientException || e instanceof TimeoutException;
+    }
+
+    /**
+     * One admitted call; exactly one outcome is reported back no matter how many signals arrive.
+     */
+    private final class Permit {
+        private final long startNanos;
+        private final boolean sampleLatency;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos, boolean sampleLatency) {
+            this.startNanos = startNanos;
+            this.sampleLatency = sampleLatency;
+        }
+
+        void succeeded() {
+            if (released.compareAndSet(false, true)) {
+                long elapsed = System.nanoTime() - startNanos;
+                circuitBreaker.onSuccess();
+                if (sampleLatency) {
+                    limiter.onSuccess(elapsed);
+                } else {
+                    limiter.onIgnored();
+                }
+                succeededCalls.record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void failed(Throwable e) {
+            if (!isUpstreamFailure(e)) {
+                ignored();
+            } else if (released.compareAndSet(false, true)) {
+                circuitBreaker.onFailure();
+                limiter.onFailure();
+                failedCalls.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        void ignored() {
+            if (released.compareAndSet(false, true)) {
+                circuitBreaker.onIgnored();
+                limiter.onIgnored();
+                ignoredCalls.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.marketdigestai.resilience;
+
+/**
+ * Thrown when a call is rejected without reaching the upstream: by {@link UpstreamGuard} because the circuit is
+ * open or the concurrency limit is reached, or by {@link TokenBucketRateLimiter} because the quota is used up.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String upstream;
+    private final String reason;
+
+    public UpstreamUnavailableException(String upstream, String reason) {
+        super(upstream + " unavailable: " + reason);
+        this.upstream = upstream;
+        this.reason = reason;
+    }
+
+    public String getUpstream() {
+        return upstream;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
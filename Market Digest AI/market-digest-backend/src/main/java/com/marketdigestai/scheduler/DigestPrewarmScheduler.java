@@ -0,0 +1,114 @@
+package com.marketdigestai.scheduler;
+
+import com.marketdigestai.config.PrewarmConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.service.CompanyDirectory;
+import com.marketdigestai.service.CompanyPopularityTracker;
+import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.NewsApiService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scheduled task that keeps news and summaries warm for the companies users actually ask for.
+ *
+ * <p>
+ * Each run refreshes the featured {@link CompanyDirectory} companies plus the most requested ad-hoc companies, then
+ * summarizes any article set that is not already in the summary cache. When the frontend later posts
+ * the same articles to {@code /api/summarize}, the answer comes straight from the cache.
+ * Disabled unless {@code digest.prewarm.enabled=true}.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "digest.prewarm.enabled", havingValue = "true")
+public class DigestPrewarmScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(DigestPrewarmScheduler.class);
+    private final PrewarmConfig prewarmConfig;
+    private final CompanyDirectory companyDirectory;
+    private final CompanyPopularityTracker popularityTracker;
+    private final NewsApiService newsApiService;
+    private final GeminiApiService geminiApiService;
+    private final AsyncTaskExecutor executor;
+
+    @Autowired
+    public DigestPrewarmScheduler(PrewarmConfig prewarmConfig, CompanyDirectory companyDirectory,
+                                  CompanyPopularityTracker popularityTracker, NewsApiService newsApiService,
+                                  GeminiApiService geminiApiService,
+                                  @Qualifier("prewarmExecutor") AsyncTaskExecutor executor) {
+        this.prewarmConfig = prewarmConfig;
+        this.companyDirectory = companyDirectory;
+        this.popularityTracker = popularityTracker;
+        this.newsApiService = newsApiService;
+        this.geminiApiService = geminiApiService;
+        this.executor = executor;
+    }
+
+    /**
+     * Refreshes news and summaries for popular companies.
+     * Runs every {@code digest.prewarm.interval-ms} (default 1 hour), starting shortly after startup.
+     */
+    @Scheduled(initialDelayString = "${digest.prewarm.initial-delay-ms:30000}",
+            fixedDelayString = "${digest.prewarm.interval-ms:3600000}")
+    public void prewarm() {
+        List<String> companies = companiesToWarm();
+        AtomicInteger newsBudget = new AtomicInteger(prewarmConfig.getMaxNewsCallsPerRun());
+        AtomicInteger summaryBudget = new AtomicInteger(prewarmConfig.getMaxSummariesPerRun());
+        AtomicInteger refreshed = new AtomicInteger();
+        AtomicInteger summarized = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (String company : companies) {
+            if (newsBudget.getAndDecrement() <= 0) {
+                logger.info("News budget exhausted, skipping remaining companies");
+                break;
+            }
+            tasks.add(CompletableFuture.runAsync(() -> {
+                List<NewsArticleDto> articles = newsApiService.refreshNewsForCompany(company);
+                refreshed.incrementAndGet();
+                if (!prewarmConfig.isSummarize() || articles.isEmpty()
+                        || geminiApiService.isSummaryCached(company, articles)) {
+                    return;
+                }
+                if (summaryBudget.getAndDecrement() > 0) {
+                    geminiApiService.summarize(company, articles);
+                    summarized.incrementAndGet();
+                }
+            }, executor).exceptionally(e -> {
+                logger.warn("Pre-warming {} failed: {}", company, e.getCause().getClass().getSimpleName());
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        logger.info("Refreshed news for {} of {} companies, generated {} summaries",
+                refreshed.get(), companies.size(), summarized.get());
+    }
+
+    private List<String> companiesToWarm() {
+        Map<String, String> companies = new LinkedHashMap<>();
+        for (String company : companyDirectory.getCompanies()) {
+            companies.putIfAbsent(company.toLowerCase(Locale.ROOT), company);
+        }
+        int adhocLimit = companies.size() + prewarmConfig.getAdhocTopN();
+        for (String company : popularityTracker.topCompanies(adhocLimit)) {
+            if (companies.size() >= adhocLimit) {
+                break;
+            }
+            companies.putIfAbsent(company.toLowerCase(Locale.ROOT), company);
+        }
+        return new ArrayList<>(companies.values());
+    }
+}
@@ -0,0 +1,312 @@
+package com.marketdigestai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketdigestai.config.ArticleStoreConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Articles seen so far per company, de-duplicated by URL and kept newest first.
+ *
+ * <p>
+ * NewsAPI is queried with {@code from} set to the newest stored {@code publishedAt} (minus
+ * {@code news.store.from-overlap} for late-indexed articles), and each response is merged into the store,
+ * so a refresh transfers only new articles while the latest view and the history still span everything
+ * seen. With persistence enabled each company has an append-only {@code <company>.jsonl} file holding one
+ * article per line; it is rewritten only when it grows well past {@code news.store.max-articles-per-company}.
+ * Keys are the already normalized company names used by {@link NewsApiService}. At most
+ * {@code news.store.max-companies} companies are kept; an evicted company's file is deleted with it, so its next
+ * lookup is a full query again.
+ * </p>
+ */
+@Component
+public class ArticleStore {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleStore.class);
+    private static final String FILE_SUFFIX = ".jsonl";
+    // NewsAPI publishedAt values are ISO-8601 UTC, so string order is time order
+    private static final Comparator<NewsArticleDto> NEWEST_FIRST = Comparator.comparing(
+            NewsArticleDto::getPublishedAt, Comparator.nullsFirst(Comparator.<String>naturalOrder())).reversed();
+
+    private final ArticleStoreConfig articleStoreConfig;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Cache<String, CompanyArticles> companies;
+
+    @Autowired
+    public ArticleStore(ArticleStoreConfig articleStoreConfig, MeterRegistry meterRegistry) {
+        this.articleStoreConfig = articleStoreConfig;
+        // An eviction listener rather than a removal listener: it runs before the company can be stored again,
+        // so deleting the evicted file cannot race with the new entry creating it
+        this.companies = Caffeine.newBuilder()
+                .maximumSize(articleStoreConfig.getMaxCompanies())
+                .evictionListener((String company, CompanyArticles evicted, RemovalCause cause) -> {
+                    if (evicted != null) {
+                        evicted.evict();
+                    }
+                })
+                .build();
+        Gauge.builder("news.store.articles", companies,
+                        cache -> cache.asMap().values().stream().mapToInt(CompanyArticles::size).sum())
+                .description("Articles held in the article store")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void loadFromDisk() {
+        if (!articleStoreConfig.isEnabled() || !articleStoreConfig.isPersistent()) {
+            return;
+        }
+        Path dir = Path.of(articleStoreConfig.getPersistDir());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            logger.error("Cannot create article store directory {}", dir, e);
+            return;
+        }
+        int loaded = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> newestFirst = files.filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparing(ArticleStore::lastModified).reversed())
+                    .toList();
+            for (Path file : newestFirst) {
+                if (companies.estimatedSize() >= articleStoreConfig.getMaxCompanies()) {
+                    // Left over from a larger news.store.max-companies; the least recently written go first
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                String company = URLDecoder.decode(name.substring(0, name.length() - FILE_SUFFIX.length()),
+                        StandardCharsets.UTF_8);
+                CompanyArticles stored = new CompanyArticles(company);
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                List<NewsArticleDto> articles = new ArrayList<>(lines.size());
+                for (String line : lines) {
+                    try {
+                        articles.add(objectMapper.readValue(line, NewsArticleDto.class));
+                    } catch (JsonProcessingException e) {
+                        // Most likely a line cut short by a crash mid-append; the rest of the file is still good
+                        logger.warn("Skipping unreadable line in {}", file);
+                    }
+                }
+                stored.addAll(articles);
+                stored.fileLines = lines.size();
+                if (stored.fileLines > stored.size()) {
+                    stored.rewriteFile();
+                }
+                companies.put(company, stored);
+                loaded += stored.size();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load article store from {}", dir, e);
+        }
+        logger.info("Loaded {} stored articles for {} companies from {}", loaded, companies.estimatedSize(), dir);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Value for NewsAPI's {@code from} parameter, or {@code null} for a full query when nothing is stored yet.
+     */
+    public String incrementalFrom(String company) {
+        if (!articleStoreConfig.isEnabled()) {
+            return null;
+        }
+        CompanyArticles stored = companies.getIfPresent(company);
+        String newest = stored != null ? stored.newestPublishedAt() : null;
+        if (newest == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(newest).minus(articleStoreConfig.getFromOverlap()).toString();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Stores the articles not seen before and returns the latest {@code news.store.latest-size} articles
+     * for the company, old and new together.
+     */
+    public List<NewsArticleDto> merge(String company, List<NewsArticleDto> fetched) {
+        if (!articleStoreConfig.isEnabled()) {
+            return fetched;
+        }
+        return companies.get(company, CompanyArticles::new)
+                .merge(fetched, articleStoreConfig.getLatestSize());
+    }
+
+    /**
+     * Up to {@code limit} stored articles for the company, newest first.
+     */
+    public List<NewsArticleDto> history(String company, int limit) {
+        CompanyArticles stored = companies.getIfPresent(company);
+        return stored != null ? stored.newest(limit) : List.of();
+    }
+
+    /**
+     * How articles are told apart: by URL, or by title for the rare article without one.
+     */
+    static String identity(NewsArticleDto article) {
+        return article.getUrl() != null ? article.getUrl() : "title:" + article.getTitle();
+    }
+
+    /**
+     * One company's articles. The lock also serializes appends to the company's file; it is a
+     * {@link ReentrantLock} so a virtual thread writing the file does not pin its carrier.
+     */
+    private final class CompanyArticles {
+        private final String company;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, NewsArticleDto> byIdentity = new HashMap<>();
+        // Replaced, never mutated, so readers can take a snapshot without the lock
+        private volatile List<NewsArticleDto> newestFirst = List.of();
+        private int fileLines;
+        // Set under the lock once evicted; a merge still holding this instance then leaves the file alone
+        private boolean evicted;
+
+        CompanyArticles(String company) {
+            this.company = company;
+        }
+
+        int size() {
+            return newestFirst.size();
+        }
+
+        String newestPublishedAt() {
+            List<NewsArticleDto> snapshot = newestFirst;
+            return snapshot.isEmpty() ? null : snapshot.get(0).getPublishedAt();
+        }
+
+        List<NewsArticleDto> newest(int limit) {
+            List<NewsArticleDto> snapshot = newestFirst;
+            return List.copyOf(snapshot.subList(0, Math.min(limit, snapshot.size())));
+        }
+
+        List<NewsArticleDto> merge(List<NewsArticleDto> fetched, int latestSize) {
+            lock.lock();
+            try {
+                List<NewsArticleDto> added = addAll(fetched);
+                if (!added.isEmpty() && articleStoreConfig.isPersistent() && !evicted) {
+                    if (fileLines + added.size() > 2 * articleStoreConfig.getMaxArticlesPerCompany()) {
+                        rewriteFile();
+                    } else {
+                        append(added);
+                    }
+                }
+                return newest(latestSize);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return the articles that were not stored yet and survived the per-company limit
+         */
+        List<NewsArticleDto> addAll(List<NewsArticleDto> articles) {
+            List<NewsArticleDto> added = new ArrayList<>();
+            for (NewsArticleDto article : articles) {
+                if (byIdentity.putIfAbsent(identity(article), article) == null) {
+                    added.add(article);
+                }
+            }
+            if (added.isEmpty()) {
+                return added;
+            }
+            List<NewsArticleDto> all = new ArrayList<>(byIdentity.values());
+            all.sort(NEWEST_FIRST);
+            int max = articleStoreConfig.getMaxArticlesPerCompany();
+            if (all.size() > max) {
+                List<NewsArticleDto> dropped = all.subList(max, all.size());
+                dropped.forEach(article -> byIdentity.remove(identity(article)));
+                added.removeIf(article -> !byIdentity.containsKey(identity(article)));
+                dropped.clear();
+            }
+            newestFirst = List.copyOf(all);
+            return added;
+        }
+
+        void evict() {
+            lock.lock();
+            try {
+                evicted = true;
+                if (articleStoreConfig.isPersistent()) {
+                    Files.deleteIfExists(file());
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to delete article store file of evicted company {}", company, e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void append(List<NewsArticleDto> added) {
+            try {
+                Files.write(file(), lines(added), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                fileLines += added.size();
+            } catch (IOException e) {
+                logger.warn("Failed to persist articles for {}", company, e);
+            }
+        }
+
+        void rewriteFile() {
+            Path file = file();
+            try {
+                Path tmp = Files.createTempFile(file.getParent(), "articles", ".tmp");
+                List<NewsArticleDto> oldestFirst = new ArrayList<>(newestFirst);
+                Collections.reverse(oldestFirst);
+                Files.write(tmp, lines(oldestFirst), StandardCharsets.UTF_8);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                fileLines = newestFirst.size();
+            } catch (IOException e) {
+                logger.warn("Failed to compact article store file {}", file, e);
+            }
+        }
+
+        private List<String> lines(List<NewsArticleDto> articles) throws JsonProcessingException {
+            List<String> lines = new ArrayList<>(articles.size());
+            for (NewsArticleDto article : articles) {
+                lines.add(objectMapper.writeValueAsString(article));
+            }
+            return lines;
+        }
+
+        private Path file() {
+            return Path.of(articleStoreConfig.getPersistDir(), URLEncoder.encode(company, StandardCharsets.UTF_8) + FILE_SUFFIX);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.CompanyDirectoryConfig;
+import com.marketdigestai.service.CompanyIndex.Company;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The companies offered in the dashboard's company picker, loaded from {@code companies.universe} and
+ * searched through a {@link CompanyIndex}.
+ */
+@Component
+public class CompanyDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(CompanyDirectory.class);
+    // Columns are read by position, so a file with other or reordered columns must not load silently
+    private static final List<String> HEADER = List.of("name", "ticker", "aliases", "featured");
+
+    private final CompanyDirectoryConfig config;
+    private final CompanyIndex index;
+
+    @Autowired
+    public CompanyDirectory(CompanyDirectoryConfig config) {
+        this.config = config;
+        long start = System.nanoTime();
+        this.index = new CompanyIndex(load(config.getUniverse()));
+        logger.info("Indexed {} companies from {} in {} ms", index.size(), config.getUniverse().getDescription(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * The featured companies: shown before anything is typed and kept warm by the pre-warming scheduler.
+     */
+    public List<String> getCompanies() {
+        return index.featured();
+    }
+
+    /**
+     * @param limit maximum number of names; {@code null} means {@code companies.search.default-limit}, and
+     *              anything above {@code companies.search.max-limit} is capped
+     */
+    public List<String> search(String search, Integer limit) {
+        int effective = limit != null ? limit : config.getDefaultLimit();
+        return index.search(search, Math.max(0, Math.min(effective, config.getMaxLimit())));
+    }
+
+    static List<Company> load(Resource universe) {
+        List<Company> companies = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(universe.getInputStream(), StandardCharsets.UTF_8))) {
+            checkHeader(reader.readLine(), universe);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = splitCsvLine(line);
+                String name = fields.get(0).trim();
+                if (name.isEmpty()) {
+                    continue;
+                }
+                String ticker = fields.size() > 1 ? fields.get(1).trim() : "";
+                List<String> aliases = fields.size() > 2 && !fields.get(2).isBlank()
+                        ? Arrays.stream(fields.get(2).split("\\|")).map(String::trim).toList()
+                        : List.of();
+                boolean featured = fields.size() > 3 && Boolean.parseBoolean(fields.get(3).trim());
+                companies.add(new Company(name, ticker, aliases, featured));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read company universe " + universe.getDescription(), e);
+        }
+        return companies;
+    }
+
+    private static void checkHeader(String header, Resource universe) {
+        // A byte order mark, as spreadsheet exports often write, is not part of the first column name
+        List<String> columns = header == null ? List.of() : splitCsvLine(header.replace("\uFEFF", "")).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!columns.equals(HEADER)) {
+            throw new IllegalStateException("Company universe " + universe.getDescription() + " must start with the "
+                    + "header " + String.join(",", HEADER) + " but starts with " + (header != null ? header : "nothing"));
+        }
+    }
+
+    /**
+     * Splits one CSV line; fields may be double-quoted so names can contain commas ({@code ""} is a literal quote).
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,296 @@
+package com.marketdigestai.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable search index over company names, tickers and aliases for the company picker's typeahead.
+ *
+ * <p>
+ * All keys are normalized once at build time (lower case, accents and punctuation removed). Prefix
+ * matches come from a binary search in one sorted key array holding every name, alias, ticker and
+ * word-suffix of a name ("america" and "of america" for "Bank of America"). Infix matches for queries of
+ * three or more characters come from a trigram index: the postings of the query's trigrams are intersected
+ * and the survivors checked with {@code contains}. Neither path scans the whole universe.
+ * </p>
+ *
+ * <p>
+ * Results are ranked by how they matched (exact ticker, exact name or alias, name prefix, ticker prefix,
+ * word prefix, infix), then featured companies first, then the order of the source list, which is
+ * expected to put larger or more popular companies first.
+ * </p>
+ */
+public final class CompanyIndex {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Match tiers, best first
+    private static final int EXACT_TICKER = 0;
+    private static final int EXACT_NAME = 1;
+    private static final int NAME_PREFIX = 2;
+    private static final int TICKER_PREFIX = 3;
+    private static final int WORD_PREFIX = 4;
+    private static final int INFIX = 5;
+
+    private static final byte KIND_NAME = 0;
+    private static final byte KIND_TICKER = 1;
+    private static final byte KIND_WORD = 2;
+
+    private final List<Company> companies;
+    private final List<String> featured;
+    private final int[] featuredIds;
+    private final String[] keys;
+    private final int[] keyCompany;
+    private final byte[] keyKind;
+    private final String[] infixText;
+    private final Map<Long, int[]> trigramPostings;
+
+    /**
+     * One entry of the universe.
+     * @param aliases other names the company is known by, searchable but never displayed
+     * @param featured offered before anything is typed, and pre-warmed by the scheduler
+     */
+    public record Company(String name, String ticker, List<String> aliases, boolean featured) {
+    }
+
+    public CompanyIndex(List<Company> companies) {
+        this.companies = List.copyOf(companies);
+        this.featured = this.companies.stream().filter(Company::featured).map(Company::name).toList();
+        this.featuredIds = IntStream.range(0, this.companies.size()).filter(id -> this.companies.get(id).featured()).toArray();
+
+        List<KeyEntry> entries = new ArrayList<>();
+        this.infixText = new String[this.companies.size()];
+        Map<Long, IntList> postings = new HashMap<>();
+        for (int id = 0; id < this.companies.size(); id++) {
+            Company company = this.companies.get(id);
+            Set<String> names = new LinkedHashSet<>();
+            names.add(normalize(company.name()));
+            company.aliases().forEach(alias -> names.add(normalize(alias)));
+            names.remove("");
+            for (String name : names) {
+                entries.add(new KeyEntry(name, id, KIND_NAME));
+                for (int space = name.indexOf(' '); space >= 0; space = name.indexOf(' ', space + 1)) {
+                    entries.add(new KeyEntry(name.substring(space + 1), id, KIND_WORD));
+                }
+            }
+            String ticker = normalize(company.ticker());
+            if (!ticker.isEmpty()) {
+                entries.add(new KeyEntry(ticker, id, KIND_TICKER));
+            }
+            // Names and aliases are separated by a character normalize() never produces, so no match spans two
+            infixText[id] = String.join("\n", names);
+            for (long trigram : trigrams(infixText[id])) {
+                postings.computeIfAbsent(trigram, t -> new IntList()).add(id);
+            }
+        }
+
+        entries.sort(Comparator.comparing(KeyEntry::key));
+        int n = entries.size();
+        this.keys = new String[n];
+        this.keyCompany = new int[n];
+        this.keyKind = new byte[n];
+        for (int i = 0; i < n; i++) {
+            KeyEntry entry = entries.get(i);
+            keys[i] = entry.key();
+            keyCompany[i] = entry.company();
+            keyKind[i] = entry.kind();
+        }
+        this.trigramPostings = new HashMap<>(postings.size() * 2);
+        // Ids were added once each and in ascending order, so every posting list is already sorted
+        postings.forEach((trigram, ids) -> trigramPostings.put(trigram, ids.toArray()));
+    }
+
+    public int size() {
+        return companies.size();
+    }
+
+    /**
+     * Featured company names, in source order.
+     */
+    public List<String> featured() {
+        return featured;
+    }
+
+    /**
+     * Company names matching {@code query}, best match first; the featured list when the query is blank.
+     */
+    public List<String> search(String query, int limit) {
+        String q = query != null ? normalize(query) : "";
+        if (q.isEmpty()) {
+            return featured.subList(0, Math.min(limit, featured.size()));
+        }
+        // One bit set per tier: iterating a set yields ids in source order, so ranking needs no sort
+        BitSet[] tiers = new BitSet[INFIX];
+        for (int i = lowerBound(q); i < keys.length && keys[i].startsWith(q); i++) {
+            int tier = tier(keyKind[i], keys[i].length() == q.length());
+            if (tiers[tier] == null) {
+                tiers[tier] = new BitSet(companies.size());
+            }
+            tiers[tier].set(keyCompany[i]);
+        }
+        Results results = new Results(limit);
+        for (BitSet tier : tiers) {
+            if (tier != null) {
+                results.addAll(tier);
+            }
+        }
+        // Infix matches rank below every prefix match, so they are only looked up when there is room left
+        if (!results.isFull() && q.length() >= 3) {
+            BitSet infix = new BitSet(companies.size());
+            for (int id : infixCandidates(q)) {
+                if (infixText[id].contains(q)) {
+                    infix.set(id);
+                }
+            }
+            results.addAll(infix);
+        }
+        return results.names;
+    }
+
+    /**
+     * Collects up to {@code limit} distinct names; within each tier featured companies go first.
+     */
+    private final class Results {
+        private final int limit;
+        private final BitSet added = new BitSet(companies.size());
+        private final List<String> names = new ArrayList<>();
+
+        Results(int limit) {
+            this.limit = limit;
+        }
+
+        boolean isFull() {
+            return names.size() >= limit;
+        }
+
+        void addAll(BitSet tier) {
+            for (int id : featuredIds) {
+                if (tier.get(id)) {
+                    add(id);
+                }
+            }
+            for (int id = tier.nextSetBit(0); id >= 0 && !isFull(); id = tier.nextSetBit(id + 1)) {
+                add(id);
+            }
+        }
+
+        private void add(int id) {
+            if (!isFull() && !added.get(id)) {
+                added.set(id);
+                names.add(companies.get(id).name());
+            }
+        }
+    }
+
+    private static int tier(byte kind, boolean exact) {
+        return switch (kind) {
+            case KIND_TICKER -> exact ? EXACT_TICKER : TICKER_PREFIX;
+            case KIND_NAME -> exact ? EXACT_NAME : NAME_PREFIX;
+            default -> WORD_PREFIX;
+        };
+    }
+
+    private int lowerBound(String q) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Companies containing every trigram of {@code q}: a superset of the real infix matches.
+     */
+    private int[] infixCandidates(String q) {
+        List<int[]> lists = new ArrayList<>();
+        for (long trigram : trigrams(q)) {
+            int[] ids = trigramPostings.get(trigram);
+            if (ids == null) {
+                return new int[0];
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[k++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, k);
+    }
+
+    /**
+     * Distinct trigrams of {@code text}, each packed into one long.
+     */
+    private static long[] trigrams(String text) {
+        int n = Math.max(0, text.length() - 2);
+        long[] trigrams = new long[n];
+        for (int i = 0; i < n; i++) {
+            trigrams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(trigrams).sorted().distinct().toArray();
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    private record KeyEntry(String key, int company, byte kind) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.marketdigestai.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts how often each company is requested through the API so the pre-warming scheduler can
+ * include popular companies that are not in the {@link CompanyDirectory} list.
+ *
+ * <p>
+ * Counts are halved every {@code digest.popularity.decay-interval-ms} (default 1 hour), whether or not
+ * pre-warming is enabled, so the ranking follows recent demand and companies nobody asks for any more drop out.
+ * </p>
+ */
+@Component
+public class CompanyPopularityTracker {
+    private static final int MAX_TRACKED = 1000;
+
+    private final Map<String, Entry> counts = new ConcurrentHashMap<>();
+
+    public void record(String company) {
+        if (company == null || company.isBlank()) {
+            return;
+        }
+        String name = company.trim();
+        if (counts.size() >= MAX_TRACKED && !counts.containsKey(name.toLowerCase(Locale.ROOT))) {
+            return;
+        }
+        counts.computeIfAbsent(name.toLowerCase(Locale.ROOT), k -> new Entry(name)).hits.incrementAndGet();
+    }
+
+    /**
+     * @return up to {@code limit} company names, most requested first
+     */
+    public List<String> topCompanies(int limit) {
+        return counts.values().stream()
+                .filter(e -> e.hits.get() > 0)
+                .sorted(Comparator.comparingLong((Entry e) -> e.hits.get()).reversed())
+                .limit(limit)
+                .map(e -> e.name)
+                .toList();
+    }
+
+    @Scheduled(initialDelayString = "${digest.popularity.decay-interval-ms:3600000}",
+            fixedDelayString = "${digest.popularity.decay-interval-ms:3600000}")
+    public void decay() {
+        counts.values().forEach(e -> e.hits.updateAndGet(h -> h / 2));
+        counts.values().removeIf(e -> e.hits.get() == 0);
+    }
+
+    private static final class Entry {
+        private final String name;
+        private final AtomicLong hits = new AtomicLong();
+
+        private Entry(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -1,92 +1,608 @@
 package com.marketdigestai.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.marketdigestai.config.GeminiApiConfig;
+import com.marketdigestai.config.IncrementalSummaryConfig;
 import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeRequestDto;
 import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.dto.gemini.GeminiRequest;
+import com.marketdigestai.dto.gemini.GeminiResponse;
+import com.marketdigestai.dto.gemini.GeminiResponse.UsageMetadata;
+import com.marketdigestai.resilience.UpstreamGuard;
+import com.marketdigestai.resilience.UpstreamUnavailableException;
+import com.marketdigestai.service.SummaryHistory.Mode;
+import com.marketdigestai.service.SummaryHistory.Plan;
+import com.marketdigestai.service.SummaryPromptBuilder.SummaryPrompt;
+import com.marketdigestai.service.UpstreamPayloadMetrics.CountingInputStream;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.*;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 public class GeminiApiService {
     private static final Logger logger = LoggerFactory.getLogger(GeminiApiService.class);
+    private static final String SSE_DATA_PREFIX = "data:";
     private final GeminiApiConfig geminiApiConfig;
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RestTemplate restTemplate;
+    private static final int LOG_PREVIEW_CHARS = 200;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+    private final ObjectReader envelopeReader = objectMapper.readerFor(GeminiResponse.class);
+    private final ObjectReader summaryReader = objectMapper.readerFor(SummarizeResponseDto.class);
+    private final ObjectReader batchReader = objectMapper.readerFor(new TypeReference<Map<String, SummarizeResponseDto>>() { });
+    private final SummaryCache summaryCache;
+    private final SummaryPromptBuilder promptBuilder;
+    private final SingleFlight<String, SummarizeResponseDto> summaryFlights;
+    private final SummaryHistory summaryHistory;
+    private final IncrementalSummaryConfig incrementalConfig;
+    private final GeminiMetrics metrics;
+
+    private final UpstreamGuard geminiGuard;
+    private final WebClient webClient;
+    private final AsyncTaskExecutor batchExecutor;
 
     @Autowired
-    public GeminiApiService(GeminiApiConfig geminiApiConfig) {
+    public GeminiApiService(GeminiApiConfig geminiApiConfig, SummaryCache summaryCache, SummaryPromptBuilder promptBuilder,
+                            SummaryHistory summaryHistory, IncrementalSummaryConfig incrementalConfig,
+                            @Qualifier("geminiRestTemplate") RestTemplate restTemplate,
+                            @Qualifier("geminiWebClient") WebClient webClient,
+                            @Qualifier("geminiGuard") UpstreamGuard geminiGuard, GeminiMetrics metrics,
+                            MeterRegistry meterRegistry,
+                            @Qualifier("digestExecutor") AsyncTaskExecutor batchExecutor) {
         this.geminiApiConfig = geminiApiConfig;
+        this.restTemplate = restTemplate;
+        this.webClient = webClient;
+        this.geminiGuard = geminiGuard;
+        this.summaryCache = summaryCache;
+        this.promptBuilder = promptBuilder;
+        this.summaryHistory = summaryHistory;
+        this.incrementalConfig = incrementalConfig;
+        this.metrics = metrics;
+        this.batchExecutor = batchExecutor;
+        this.summaryFlights = new SingleFlight<>("summaries", meterRegistry);
     }
 
     public SummarizeResponseDto summarize(String company, List<NewsArticleDto> articles) {
-        // Build prompt for Gemini
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("Summarize the following news articles about ").append(company).append(":\n");
-        for (NewsArticleDto article : articles) {
-            prompt.append("Title: ").append(article.getTitle()).append("\n");
-            prompt.append("Description: ").append(article.getDescription()).append("\n");
-        }
-        prompt.append("\nProvide a comprehensive, multi-paragraph summary suitable for a business/finance audience. The summary should be detailed, clear, and complete, and must not be cut off or truncated. After the summary, list the key points as bullet points. Do not truncate the response. Respond in JSON with fields: summary, keyPoints, sentiment.");
-
-        // Prepare Gemini API request
-        String apiUrl = geminiApiConfig.getGeminiApiUrl();
-        Map<String, Object> requestBody = Map.of(
-                "contents", List.of(
-                        Map.of("parts", List.of(Map.of("text", prompt.toString())))
-                )
-        );
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+        return summarize(company, articles, incrementalConfig.isEnabled());
+    }
 
-        try {
-            ResponseEntity<String> response = restTemplate.postForEntity(apiUrl, entity, String.class);
-            logger.info("Gemini API HTTP status: {}", response.getStatusCode());
-            logger.info("Gemini API raw response body: {}", response.getBody());
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                // Parse Gemini response
-                JsonNode root = objectMapper.readTree(response.getBody());
-                JsonNode candidates = root.path("candidates");
-                if (candidates.isArray() && candidates.size() > 0) {
-                    String content = candidates.get(0).path("content").path("parts").get(0).path("text").asText();
-                    logger.info("Gemini API parsed content: {}", content);
-                    // Try to parse the JSON from the LLM response
-                    try {
-                        JsonNode json = objectMapper.readTree(content);
-                        String summary = json.path("summary").asText("");
-                        List<String> keyPoints = new ArrayList<>();
-                        if (json.has("keyPoints") && json.get("keyPoints").isArray()) {
-                            for (JsonNode kp : json.get("keyPoints")) {
-                                keyPoints.add(kp.asText());
+    /**
+     * @param incremental whether the company's previous summary may be reused, or updated with only the articles
+     *                    it does not cover yet, instead of summarizing every article from scratch
+     */
+    public SummarizeResponseDto summarize(String company, List<NewsArticleDto> articles, boolean incremental) {
+        String cacheKey = summaryCache.keyFor(company, articles);
+        SummarizeResponseDto cached = summaryCache.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        // Identical requests arriving while Gemini is still working wait for that call instead of starting their own
+        return summaryFlights.execute(cacheKey, () -> {
+            SummarizeResponseDto raced = summaryCache.get(cacheKey);
+            if (raced != null) {
+                return raced;
+            }
+            Plan plan = summaryHistory.plan(company, articles, incremental);
+            if (plan.mode() == Mode.REUSE) {
+                summaryCache.put(cacheKey, plan.previous().summary());
+                return plan.previous().summary();
+            }
+            SummarizeResponseDto generated = generate(company, plan);
+            if (generated != null) {
+                summaryCache.put(cacheKey, generated);
+                summaryHistory.record(company, articles, generated, plan);
+                return generated;
+            }
+            return fallbackSummary(company, articles);
+        });
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #summarize} for the reactive digest pipeline, sharing its cache, prompt
+     * and parsing. If Gemini fails, is unavailable or does not answer within {@code timeout}, emits the fallback
+     * summary.
+     */
+    public Mono<SummarizeResponseDto> summarizeReactive(String company, List<NewsArticleDto> articles, Duration timeout) {
+        return Mono.defer(() -> {
+            String cacheKey = summaryCache.keyFor(company, articles);
+            SummarizeResponseDto cached = summaryCache.get(cacheKey);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            // Registered like summarize's flight, so blocking and reactive callers for the same articles share one call.
+            // Cancelling one subscriber must not cancel the call the others are waiting for.
+            return Mono.fromFuture(summaryFlights.executeAsync(cacheKey,
+                    () -> generateReactive(company, articles, cacheKey, timeout).toFuture()), true);
+        });
+    }
+
+    private Mono<SummarizeResponseDto> generateReactive(String company, List<NewsArticleDto> articles, String cacheKey,
+                                                        Duration timeout) {
+        return Mono.defer(() -> {
+            SummarizeResponseDto raced = summaryCache.get(cacheKey);
+            if (raced != null) {
+                return Mono.just(raced);
+            }
+            Plan plan = summaryHistory.plan(company, articles, incrementalConfig.isEnabled());
+            if (plan.mode() == Mode.REUSE) {
+                summaryCache.put(cacheKey, plan.previous().summary());
+                return Mono.just(plan.previous().summary());
+            }
+            return Mono.fromCallable(() -> requestBody(buildPrompt(company, plan)))
+                    .flatMap(body -> geminiGuard.executeReactive(() -> webClient.post()
+                            .uri(geminiApiConfig.getGeminiApiUrl())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .contentLength(body.length)
+                            .bodyValue(body)
+                            .retrieve()
+                            .bodyToMono(byte[].class)
+                            .timeout(timeout)))
+                    .<String>handle((body, sink) -> {
+                        try {
+                            metrics.payloads().recordResponse(body.length);
+                            GeminiResponse response = envelopeReader.readValue(body);
+                            metrics.recordUsage(response.usageMetadata());
+                            if (response.hasCandidates()) {
+                                String content = response.firstCandidateText();
+                                sampleContent(content);
+                                sink.next(content);
+                            } else {
+                                logger.warn("No candidates found in Gemini API response.");
                             }
+                        } catch (IOException e) {
+                            sink.error(e);
+                        }
+                    })
+                    .map(this::parseContent)
+                    .doOnNext(summary -> {
+                        summaryCache.put(cacheKey, summary);
+                        summaryHistory.record(company, articles, summary, plan);
+                    })
+                    .onErrorResume(e -> {
+                        if (e instanceof UpstreamUnavailableException) {
+                            logger.warn("Skipping Gemini call: {}", e.getMessage());
+                        } else if (e instanceof TimeoutException) {
+                            logger.warn("Gemini call for {} timed out after {} ms", company, timeout.toMillis());
+                        } else {
+                            logger.error("Exception during Gemini API call or parsing", e);
                         }
-                        String sentiment = json.path("sentiment").asText("");
-                        return new SummarizeResponseDto(summary, keyPoints, sentiment);
-                    } catch (Exception e) {
-                        logger.error("Failed to parse Gemini content as JSON. Content: {}", content, e);
-                        // If not valid JSON, return the raw content as summary
-                        return new SummarizeResponseDto(content, List.of(), "");
+                        return Mono.empty();
+                    })
+                    .switchIfEmpty(Mono.fromSupplier(() -> fallbackSummary(company, articles)));
+        });
+    }
+
+    public boolean isSummaryCached(String company, List<NewsArticleDto> articles) {
+        return summaryCache.contains(summaryCache.keyFor(company, articles));
+    }
+
+    /**
+     * Summarizes via Gemini's {@code streamGenerateContent} endpoint, reporting partial output to the listener
+     * as it arrives. Cached summaries are delivered immediately without calling Gemini. Only a stream that
+     * finished cleanly is cached; if it fails midway the listener gets what arrived so far, or the fallback.
+     * Exceptions thrown by the listener abort the upstream call and propagate to the caller.
+     *
+     * <p>
+     * The stream is registered like {@link #summarize}'s flight: identical requests arriving meanwhile, streaming
+     * or not, wait for its result and get only {@code onComplete}. If the stream is aborted by its own listener,
+     * the streams waiting for it start over.
+     * </p>
+     */
+    public void summarizeStream(String company, List<NewsArticleDto> articles, SummaryStreamListener listener) {
+        String cacheKey = summaryCache.keyFor(company, articles);
+        SummarizeResponseDto cached = summaryCache.get(cacheKey);
+        if (cached != null) {
+            listener.onComplete(cached);
+            return;
+        }
+        boolean[] streamed = new boolean[1];
+        SummarizeResponseDto summary;
+        try {
+            summary = summaryFlights.execute(cacheKey, () -> {
+                streamed[0] = true;
+                return stream(company, articles, cacheKey, listener);
+            });
+        } catch (RuntimeException e) {
+            if (streamed[0]) {
+                throw e;
+            }
+            // The stream this call joined was aborted by its client, not by Gemini
+            summarizeStream(company, articles, listener);
+            return;
+        }
+        listener.onComplete(summary);
+    }
+
+    private SummarizeResponseDto stream(String company, List<NewsArticleDto> articles, String cacheKey,
+                                        SummaryStreamListener listener) {
+        SummarizeResponseDto raced = summaryCache.get(cacheKey);
+        if (raced != null) {
+            return raced;
+        }
+        Plan plan = summaryHistory.plan(company, articles, incrementalConfig.isEnabled());
+        if (plan.mode() == Mode.REUSE) {
+            summaryCache.put(cacheKey, plan.previous().summary());
+            return plan.previous().summary();
+        }
+
+        StreamingSummaryAssembler assembler = new StreamingSummaryAssembler(listener);
+        boolean completed = false;
+        try {
+            byte[] body = requestBody(buildPrompt(company, plan));
+            geminiGuard.executeStreaming(() -> restTemplate.execute(geminiApiConfig.getGeminiStreamUrl(), HttpMethod.POST,
+                    jsonBody(body), response -> {
+                CountingInputStream counted = metrics.payloads().counting(response.getBody());
+                BufferedReader reader = new BufferedReader(new InputStreamReader(counted, StandardCharsets.UTF_8));
+                UsageMetadata usage = null;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(SSE_DATA_PREFIX)) {
+                        GeminiResponse chunk = envelopeReader.readValue(line.substring(SSE_DATA_PREFIX.length()).trim());
+                        assembler.append(chunk.firstCandidateText());
+                        // Chunks may each repeat the running totals; only the last ones count
+                        usage = chunk.usageMetadata() != null ? chunk.usageMetadata() : usage;
                     }
-                } else {
-                    logger.warn("No candidates found in Gemini API response.");
                 }
+                metrics.payloads().recordResponse(counted);
+                metrics.recordUsage(usage);
+                return null;
+            }));
+            completed = true;
+        } catch (UpstreamUnavailableException e) {
+            logger.warn("Skipping Gemini streaming call for {}: {}", company, e.getMessage());
+        } catch (RestClientException | IOException e) {
+            logger.error("Exception during Gemini streaming call", e);
+        }
+
+        String content = assembler.getRawText();
+        sampleContent(content);
+        if (content.isBlank()) {
+            return fallbackSummary(company, articles);
+        }
+        SummarizeResponseDto summary = tryParseContent(content);
+        if (summary == null && assembler.getSummary() != null) {
+            // Stream was cut off mid-JSON: keep whatever fields were fully received
+            summary = new SummarizeResponseDto(assembler.getSummary(), assembler.getKeyPoints(),
+                    assembler.getSentiment() != null ? assembler.getSentiment() : "");
+        } else if (summary == null) {
+            summary = new SummarizeResponseDto(content, List.of(), "");
+        }
+        if (completed) {
+            summaryCache.put(cacheKey, summary);
+            summaryHistory.record(company, articles, summary, plan);
+        }
+        // A stream that broke off is still shown, but never cached or used as the base for later updates
+        return summary;
+    }
+
+    /**
+     * Summarizes several companies, packing cache misses into as few Gemini calls as the batch limits allow.
+     *
+     * <p>
+     * Each batch carries the instruction preamble once and asks for one JSON object keyed by company. Batches run
+     * concurrently on {@code digestExecutor}. Companies missing from a batch answer, or whole batches whose answer
+     * cannot be parsed, are retried with individual {@link #summarize} calls; when Gemini could not be reached at
+     * all (error, timeout or open circuit) the batch gets fallback summaries instead of one more call per company.
+     * </p>
+     * @return one summary per distinct company, in request order
+     */
+    public Map<String, SummarizeResponseDto> summarizeBatch(List<SummarizeRequestDto> requests) {
+        Map<String, SummarizeResponseDto> results = new LinkedHashMap<>();
+        Map<String, SummarizeRequestDto> misses = new LinkedHashMap<>();
+        for (SummarizeRequestDto request : requests) {
+            String company = request.getCompany();
+            if (company == null || company.isBlank() || results.containsKey(company) || misses.containsKey(company)) {
+                continue;
+            }
+            SummarizeResponseDto cached = summaryCache.get(summaryCache.keyFor(company, articlesOf(request)));
+            if (cached != null) {
+                results.put(company, cached);
             } else {
-                logger.error("Gemini API call failed. Status: {}, Body: {}", response.getStatusCode(), response.getBody());
+                results.put(company, null);
+                misses.put(company, request);
+            }
+        }
+
+        Map<String, SummarizeResponseDto> generated = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (List<BatchEntry> batch : packBatches(misses.values())) {
+            if (batch.size() == 1) {
+                tasks.add(summarizeAsync(batch.get(0).request(), generated));
+                continue;
+            }
+            tasks.add(async(() -> generateBatch(batch), () -> null)
+                    .thenCompose(answered -> CompletableFuture.allOf(batch.stream()
+                            .map(entry -> completeBatchEntry(entry, answered, generated))
+                            .toArray(CompletableFuture<?>[]::new))));
+        }
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).join();
+        results.replaceAll((company, summary) -> summary != null ? summary : generated.get(company));
+        return results;
+    }
+
+    /**
+     * @param answered the batch answer keyed by lower-cased company, or {@code null} when Gemini could not be reached
+     */
+    private CompletableFuture<Void> completeBatchEntry(BatchEntry entry, Map<String, SummarizeResponseDto> answered,
+                                                       Map<String, SummarizeResponseDto> generated) {
+        String company = entry.request().getCompany();
+        List<NewsArticleDto> articles = articlesOf(entry.request());
+        if (answered == null) {
+            generated.put(company, fallbackSummary(company, articles));
+            return CompletableFuture.completedFuture(null);
+        }
+        SummarizeResponseDto summary = answered.get(company.toLowerCase(Locale.ROOT));
+        if (summary == null) {
+            return summarizeAsync(entry.request(), generated);
+        }
+        summaryCache.put(summaryCache.keyFor(company, articles), summary);
+        summaryHistory.record(company, articles, summary, Plan.full(articles));
+        generated.put(company, summary);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private CompletableFuture<Void> summarizeAsync(SummarizeRequestDto request, Map<String, SummarizeResponseDto> generated) {
+        String company = request.getCompany();
+        List<NewsArticleDto> articles = articlesOf(request);
+        return async(() -> summarize(company, articles), () -> fallbackSummary(company, articles))
+                .thenAccept(summary -> generated.put(company, summary));
+    }
+
+    /**
+     * Runs {@code task} on the batch executor; when the executor is saturated, completes with {@code onRejected}
+     * right away instead of queueing more Gemini work.
+     */
+    private <T> CompletableFuture<T> async(Supplier<T> task, Supplier<T> onRejected) {
+        try {
+            return CompletableFuture.supplyAsync(task, batchExecutor);
+        } catch (TaskRejectedException e) {
+            logger.warn("Batch summary task rejected, executor saturated");
+            return CompletableFuture.completedFuture(onRejected.get());
+        }
+    }
+
+    private List<List<BatchEntry>> packBatches(Collection<SummarizeRequestDto> requests) {
+        int instructionTokens = SummaryPromptBuilder.estimateTokens(SummaryPromptBuilder.BATCH_INSTRUCTIONS);
+        List<List<BatchEntry>> batches = new ArrayList<>();
+        List<BatchEntry> current = new ArrayList<>();
+        int currentTokens = instructionTokens;
+        for (SummarizeRequestDto request : requests) {
+            SummaryPrompt section = promptBuilder.batchSection(request.getCompany(), articlesOf(request));
+            boolean full = current.size() >= geminiApiConfig.getBatchMaxCompanies()
+                    || currentTokens + section.estimatedTokens() > geminiApiConfig.getBatchMaxPromptTokens();
+            if (!current.isEmpty() && full) {
+                batches.add(current);
+                current = new ArrayList<>();
+                currentTokens = instructionTokens;
             }
+            current.add(new BatchEntry(request, section));
+            currentTokens += section.estimatedTokens();
+        }
+        if (!current.isEmpty()) {
+            batches.add(current);
+        }
+        return batches;
+    }
+
+    /**
+     * @return summaries keyed by lower-cased company name; empty when Gemini answered without usable content,
+     * {@code null} when it could not be reached
+     */
+    private Map<String, SummarizeResponseDto> generateBatch(List<BatchEntry> batch) {
+        StringBuilder prompt = new StringBuilder();
+        for (BatchEntry entry : batch) {
+            prompt.append(entry.section().text());
+        }
+        prompt.append(SummaryPromptBuilder.BATCH_INSTRUCTIONS);
+        logger.info("Gemini batch prompt for {} companies: ~{} tokens", batch.size(),
+                SummaryPromptBuilder.estimateTokens(prompt.toString()));
+        metrics.recordPrompt(GeminiMetrics.BATCH, prompt.toString());
+        String content;
+        try {
+            content = requestContent(prompt.toString());
+        } catch (UpstreamUnavailableException e) {
+            logger.warn("Skipping Gemini batch call: {}", e.getMessage());
+            return null;
+        } catch (Exception e) {
+            logger.error("Exception during Gemini batch call for {} companies", batch.size(), e);
+            return null;
+        }
+        if (content == null) {
+            return Map.of();
+        }
+        try {
+            Map<String, SummarizeResponseDto> parsed = batchReader.readValue(stripCodeFence(content));
+            Map<String, SummarizeResponseDto> byCompany = new HashMap<>();
+            parsed.forEach((company, summary) -> {
+                if (summary != null && summary.getSummary() != null && !summary.getSummary().isBlank()) {
+                    byCompany.put(company.trim().toLowerCase(Locale.ROOT), normalize(summary));
+                }
+            });
+            return byCompany;
+        } catch (Exception e) {
+            metrics.batchParseFailed();
+            logger.warn("Failed to parse batch Gemini content for {} companies, falling back to single calls: {}",
+                    batch.size(), preview(content));
+            return Map.of();
+        }
+    }
+
+    private static List<NewsArticleDto> articlesOf(SummarizeRequestDto request) {
+        return request.getArticles() != null ? request.getArticles() : List.of();
+    }
+
+    /**
+     * Calls Gemini for a summary.
+     * @return the parsed summary, or {@code null} when Gemini could not be reached or returned nothing usable
+     */
+    private SummarizeResponseDto generate(String company, Plan plan) {
+        String content = callGemini(buildPrompt(company, plan));
+        return content != null ? parseContent(content) : null;
+    }
+
+    /**
+     * @return the text of the first candidate, or {@code null} when the call failed or returned no candidates
+     */
+    private String callGemini(String prompt) {
+        try {
+            return requestContent(prompt);
+        } catch (UpstreamUnavailableException e) {
+            // Breaker open or limit reached: answer with the fallback summary now rather than queueing
+            logger.warn("Skipping Gemini call: {}", e.getMessage());
         } catch (Exception e) {
             logger.error("Exception during Gemini API call or parsing", e);
         }
+        return null;
+    }
+
+    /**
+     * @return the text of the first candidate, or {@code null} when Gemini answered without candidates
+     * @throws UpstreamUnavailableException while the circuit is open or the concurrency limit is reached
+     */
+    private String requestContent(String prompt) throws IOException {
+        byte[] body = requestBody(prompt);
+        // Bind the envelope straight from the response stream; the body is never held as a String
+        GeminiResponse response = geminiGuard.execute(() -> restTemplate.execute(geminiApiConfig.getGeminiApiUrl(),
+                HttpMethod.POST, jsonBody(body), res -> {
+            CountingInputStream counted = metrics.payloads().counting(res.getBody());
+            GeminiResponse parsed = envelopeReader.readValue(counted);
+            metrics.payloads().recordResponse(counted);
+            return parsed;
+        }));
+        if (response != null) {
+            metrics.recordUsage(response.usageMetadata());
+        }
+        if (response != null && response.hasCandidates()) {
+            String content = response.firstCandidateText();
+            sampleContent(content);
+            return content;
+        }
+        logger.warn("No candidates found in Gemini API response.");
+        return null;
+    }
+
+    private byte[] requestBody(String prompt) throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(GeminiRequest.ofPrompt(prompt));
+        metrics.payloads().recordRequest(body.length);
+        return body;
+    }
+
+    private static RequestCallback jsonBody(byte[] body) {
+        return request -> {
+            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.getHeaders().setContentLength(body.length);
+            request.getBody().write(body);
+        };
+    }
+
+    private String buildPrompt(String company, Plan plan) {
+        if (plan.mode() == Mode.UPDATE) {
+            SummaryPrompt prompt = promptBuilder.buildUpdate(company, plan.previous().summary(), plan.articles());
+            logger.info("Gemini update prompt for {}: {} new articles (update {} since the last full summary), ~{} tokens",
+                    company, prompt.articlesIncluded(), plan.previous().updates() + 1, prompt.estimatedTokens());
+            metrics.recordPrompt(GeminiMetrics.UPDATE, prompt.text());
+            return prompt.text();
+        }
+        SummaryPrompt prompt = promptBuilder.build(company, plan.articles());
+        logger.info("Gemini prompt for {}: {} articles ({} duplicates dropped, {} over budget), ~{} tokens",
+                company, prompt.articlesIncluded(), prompt.duplicatesDropped(), prompt.droppedForBudget(),
+                prompt.estimatedTokens());
+        metrics.recordPrompt(GeminiMetrics.FULL, prompt.text());
+        return prompt.text();
+    }
+
+    /**
+     * Parses the model's JSON answer; if it is not valid JSON the raw content becomes the summary.
+     */
+    private SummarizeResponseDto parseContent(String content) {
+        SummarizeResponseDto summary = tryParseContent(content);
+        // If not valid JSON, return the raw content as summary
+        return summary != null ? summary : new SummarizeResponseDto(content, List.of(), "");
+    }
+
+    private SummarizeResponseDto tryParseContent(String content) {
+        try {
+            return normalize(summaryReader.readValue(stripCodeFence(content)));
+        } catch (Exception e) {
+            metrics.summaryParseFailed();
+            logger.warn("Failed to parse Gemini content as JSON ({} chars): {}", content.length(), preview(content));
+            return null;
+        }
+    }
+
+    private static SummarizeResponseDto normalize(SummarizeResponseDto summary) {
+        return new SummarizeResponseDto(
+                summary.getSummary() != null ? summary.getSummary() : "",
+                summary.getKeyPoints() != null ? summary.getKeyPoints() : List.of(),
+                summary.getSentiment() != null ? summary.getSentiment() : "");
+    }
+
+    /**
+     * Logs a fraction of model outputs at DEBUG ({@code llm.gemini.debug-sample-rate}) instead of every body at INFO.
+     */
+    private void sampleContent(String content) {
+        if (logger.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < geminiApiConfig.getDebugSampleRate()) {
+            logger.debug("Gemini API sampled content: {}", content);
+        }
+    }
+
+    private static String preview(String content) {
+        return content.length() > LOG_PREVIEW_CHARS ? content.substring(0, LOG_PREVIEW_CHARS) + "..." : content;
+    }
+
+    private static String stripCodeFence(String content) {
+        String trimmed = content.trim();
+        if (trimmed.startsWith("```")) {
+            int firstNewline = trimmed.indexOf('\n');
+            int closingFence = trimmed.lastIndexOf("```");
+            if (firstNewline > 0 && closingFence > firstNewline) {
+                return trimmed.substring(firstNewline + 1, closingFence);
+            }
+        }
+        return trimmed;
+    }
+
+    /**
+     * Stub summary built from the article titles, used whenever Gemini cannot provide one.
+     */
+    public SummarizeResponseDto fallbackSummary(String company, List<NewsArticleDto> articles) {
+        metrics.fallbackUsed();
         // Fallback stub
         String combinedText = articles.stream()
                 .map(a -> a.getTitle() + ": " + a.getDescription())
@@ -96,4 +612,7 @@ public class GeminiApiService {
         String sentiment = "Neutral";
         return new SummarizeResponseDto(summary, keyPoints, sentiment);
     }
+
+    private record BatchEntry(SummarizeRequestDto request, SummaryPrompt section) {
+    }
 }
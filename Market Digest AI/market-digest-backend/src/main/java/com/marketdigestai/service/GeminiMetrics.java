@@ -0,0 +1,117 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.dto.gemini.GeminiResponse.UsageMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the summaries cost and how often they go wrong.
+ *
+ * <p>
+ * Published metrics: {@code gemini.prompt.size} (characters, tagged {@code mode}: full, update or batch),
+ * {@code gemini.tokens} (from Gemini's {@code usageMetadata}, tagged {@code type}: prompt, candidates or total),
+ * {@code gemini.parse.failures} (model output that was not the requested JSON, tagged {@code format}: summary
+ * or batch) and {@code summaries.fallback} (summaries built from article titles because Gemini gave none).
+ * Request and response sizes are in {@code upstream.request.size} / {@code upstream.response.size}.
+ * </p>
+ */
+@Component
+public class GeminiMetrics {
+    public static final String FULL = "full";
+    public static final String UPDATE = "update";
+    public static final String BATCH = "batch";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> promptSizes = new HashMap<>();
+    private final UpstreamPayloadMetrics payloads;
+    private final DistributionSummary promptTokens;
+    private final DistributionSummary candidateTokens;
+    private final DistributionSummary totalTokens;
+    private final Counter summaryParseFailures;
+    private final Counter batchParseFailures;
+    private final Counter fallbacks;
+
+    @Autowired
+    public GeminiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.payloads = new UpstreamPayloadMetrics("gemini", meterRegistry);
+        for (String mode : List.of(FULL, UPDATE, BATCH)) {
+            promptSizes.put(mode, DistributionSummary.builder("gemini.prompt.size")
+                    .description("Characters in the prompt sent to Gemini")
+                    .baseUnit("characters")
+                    .tag("mode", mode)
+                    .register(meterRegistry));
+        }
+        this.promptTokens = tokens("prompt");
+        this.candidateTokens = tokens("candidates");
+        this.totalTokens = tokens("total");
+        this.summaryParseFailures = parseFailures("summary");
+        this.batchParseFailures = parseFailures("batch");
+        this.fallbacks = Counter.builder("summaries.fallback")
+                .description("Summaries built from article titles because Gemini failed, timed out or was unavailable")
+                .register(meterRegistry);
+    }
+
+    public UpstreamPayloadMetrics payloads() {
+        return payloads;
+    }
+
+    /**
+     * @param mode {@link #FULL}, {@link #UPDATE} or {@link #BATCH}
+     */
+    public void recordPrompt(String mode, String prompt) {
+        promptSizes.get(mode).record(prompt.length());
+    }
+
+    /**
+     * Records the token counts Gemini reports; streamed responses carry them on the last chunk only.
+     */
+    public void recordUsage(UsageMetadata usage) {
+        if (usage == null) {
+            return;
+        }
+        if (usage.promptTokenCount() != null) {
+            promptTokens.record(usage.promptTokenCount());
+        }
+        if (usage.candidatesTokenCount() != null) {
+            candidateTokens.record(usage.candidatesTokenCount());
+        }
+        if (usage.totalTokenCount() != null) {
+            totalTokens.record(usage.totalTokenCount());
+        }
+    }
+
+    public void summaryParseFailed() {
+        summaryParseFailures.increment();
+    }
+
+    public void batchParseFailed() {
+        batchParseFailures.increment();
+    }
+
+    public void fallbackUsed() {
+        fallbacks.increment();
+    }
+
+    private DistributionSummary tokens(String type) {
+        return DistributionSummary.builder("gemini.tokens")
+                .description("Tokens per Gemini call, as reported in usageMetadata")
+                .baseUnit("tokens")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private Counter parseFailures(String format) {
+        return Counter.builder("gemini.parse.failures")
+                .description("Gemini answers that could not be parsed as the requested JSON")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,192 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.NewsDedupConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Clusters near-identical articles with 64-bit SimHash fingerprints and keeps one article per cluster.
+ *
+ * <p>
+ * The fingerprint is built from the lower-cased words and word pairs of the title and description, so
+ * the same story re-published with a different source suffix or a lightly edited description lands
+ * within a few bits of the original. Articles whose fingerprints differ in at most
+ * {@code news.dedup.max-hamming-distance} bits are grouped (transitively). The earliest published article
+ * represents the cluster and carries the cluster size and the other sources on
+ * {@link NewsArticleDto#getDuplicateCount()} / {@link NewsArticleDto#getDuplicateSources()}.
+ * </p>
+ */
+@Component
+public class NearDuplicateDetector {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final NewsDedupConfig newsDedupConfig;
+
+    @Autowired
+    public NearDuplicateDetector(NewsDedupConfig newsDedupConfig) {
+        this.newsDedupConfig = newsDedupConfig;
+    }
+
+    /**
+     * @return one article per cluster, in the order the representatives appeared in {@code articles}
+     */
+    public List<NewsArticleDto> collapse(List<NewsArticleDto> articles) {
+        int n = articles.size();
+        if (!newsDedupConfig.isEnabled() || n < 2) {
+            return articles;
+        }
+        long[] fingerprints = new long[n];
+        for (int i = 0; i < n; i++) {
+            NewsArticleDto article = articles.get(i);
+            fingerprints[i] = fingerprint(article.getTitle(), article.getDescription());
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        int maxDistance = newsDedupConfig.getMaxHammingDistance();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (Long.bitCount(fingerprints[i] ^ fingerprints[j]) <= maxDistance) {
+                    union(parent, i, j);
+                }
+            }
+        }
+
+        int[] representative = new int[n];
+        for (int i = 0; i < n; i++) {
+            representative[i] = -1;
+        }
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            int current = representative[root];
+            if (current < 0 || publishedBefore(articles.get(i), articles.get(current))) {
+                representative[root] = i;
+            }
+        }
+
+        List<NewsArticleDto> result = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            if (representative[root] != i) {
+                continue;
+            }
+            int size = 0;
+            Set<String> otherSources = new LinkedHashSet<>();
+            for (int j = 0; j < n; j++) {
+                if (find(parent, j) == root) {
+                    size++;
+                    String source = articles.get(j).getSourceName();
+                    if (j != i && source != null && !source.equals(articles.get(i).getSourceName())) {
+                        otherSources.add(source);
+                    }
+                }
+            }
+            NewsArticleDto article = articles.get(i);
+            if (size > 1) {
+                article = copyWithCluster(article, size - 1, new ArrayList<>(otherSources));
+            }
+            result.add(article);
+        }
+        return result;
+    }
+
+    /**
+     * 64-bit SimHash over word unigrams and bigrams of the given texts.
+     */
+    public static long fingerprint(String title, String description) {
+        int[] weights = new int[64];
+        long previous = 0;
+        boolean hasPrevious = false;
+        for (String text : new String[] {title, description}) {
+            if (text == null) {
+                continue;
+            }
+            int length = text.length();
+            int i = 0;
+            while (i < length) {
+                while (i < length && !Character.isLetterOrDigit(text.charAt(i))) {
+                    i++;
+                }
+                if (i >= length) {
+                    break;
+                }
+                long hash = FNV_OFFSET;
+                while (i < length && Character.isLetterOrDigit(text.charAt(i))) {
+                    hash ^= Character.toLowerCase(text.charAt(i));
+                    hash *= FNV_PRIME;
+                    i++;
+                }
+                addFeature(weights, mix(hash));
+                if (hasPrevious) {
+                    addFeature(weights, mix(previous * 31 + hash));
+                }
+                previous = hash;
+                hasPrevious = true;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    private static void addFeature(int[] weights, long hash) {
+        for (int bit = 0; bit < 64; bit++) {
+            weights[bit] += ((hash >>> bit) & 1L) != 0 ? 1 : -1;
+        }
+    }
+
+    // MurmurHash3 finalizer: spreads FNV output across all 64 bits
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private static boolean publishedBefore(NewsArticleDto a, NewsArticleDto b) {
+        if (a.getPublishedAt() == null) {
+            return false;
+        }
+        // ISO-8601 UTC timestamps from NewsAPI compare correctly as strings
+        return b.getPublishedAt() == null || a.getPublishedAt().compareTo(b.getPublishedAt()) < 0;
+    }
+
+    private static NewsArticleDto copyWithCluster(NewsArticleDto article, int duplicateCount, List<String> duplicateSources) {
+        NewsArticleDto copy = new NewsArticleDto(article.getTitle(), article.getDescription(), article.getUrl(),
+                article.getPublishedAt(), article.getSourceName());
+        copy.setDuplicateCount(duplicateCount);
+        copy.setDuplicateSources(duplicateSources);
+        return copy;
+    }
+}
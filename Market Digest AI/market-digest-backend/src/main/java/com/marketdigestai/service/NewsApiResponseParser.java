@@ -0,0 +1,104 @@
+package com.marketdigestai.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.marketdigestai.dto.NewsArticleDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Token-level parser for NewsAPI {@code /v2/everything} responses.
+ *
+ * <p>
+ * Reads the response stream once and builds {@link NewsArticleDto}s directly, without materializing the
+ * body as a String or a {@code Map} tree. Fields we never use ({@code content}, {@code urlToImage},
+ * {@code author}, {@code source.id}, ...) are skipped at the token level.
+ * </p>
+ * <p>
+ * Anything shaped differently from what we expect is skipped rather than misread: {@code null} or non-object
+ * entries in {@code articles}, and objects or arrays where a string field should be, which are treated as
+ * missing.
+ * </p>
+ */
+public class NewsApiResponseParser {
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public List<NewsArticleDto> parse(InputStream body) throws IOException {
+        List<NewsArticleDto> articles = new ArrayList<>();
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return articles;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("articles".equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken element;
+                    while ((element = parser.nextToken()) != JsonToken.END_ARRAY && element != null) {
+                        if (element == JsonToken.START_OBJECT) {
+                            articles.add(readArticle(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return articles;
+    }
+
+    private static NewsArticleDto readArticle(JsonParser parser) throws IOException {
+        NewsArticleDto article = new NewsArticleDto();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "title" -> article.setTitle(text(parser));
+                case "description" -> article.setDescription(text(parser));
+                case "url" -> article.setUrl(text(parser));
+                case "publishedAt" -> article.setPublishedAt(text(parser));
+                case "source" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        article.setSourceName(readSourceName(parser));
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return article;
+    }
+
+    private static String readSourceName(JsonParser parser) throws IOException {
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                name = text(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return name;
+    }
+
+    /**
+     * @return the current scalar value as text, or {@code null} for {@code null}, objects and arrays, which are
+     * skipped
+     */
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken().isScalarValue()) {
+            return parser.getValueAsString();
+        }
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -1,53 +1,257 @@
 package com.marketdigestai.service;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.marketdigestai.config.NewsApiConfig;
+import com.marketdigestai.config.NewsCacheConfig;
+import com.marketdigestai.config.NewsRateLimitConfig;
 import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.resilience.RequestPriority;
+import com.marketdigestai.resilience.TokenBucketRateLimiter;
+import com.marketdigestai.resilience.UpstreamGuard;
+import com.marketdigestai.resilience.UpstreamUnavailableException;
+import com.marketdigestai.service.UpstreamPayloadMetrics.CountingInputStream;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.ArrayList;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class NewsApiService {
     private final NewsApiConfig newsApiConfig;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
+    private final NewsApiResponseParser responseParser = new NewsApiResponseParser();
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final AsyncLoadingCache<String, List<NewsArticleDto>> cache;
+    private final SingleFlight<String, List<NewsArticleDto>> upstreamFlights;
+    private final UpstreamGuard newsGuard;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final NewsRateLimitConfig rateLimitConfig;
+    private final WebClient webClient;
+    private final ArticleStore articleStore;
+    private final UpstreamPayloadMetrics payloads;
 
     @Autowired
-    public NewsApiService(NewsApiConfig newsApiConfig) {
+    public NewsApiService(NewsApiConfig newsApiConfig, NewsCacheConfig newsCacheConfig, MeterRegistry meterRegistry,
+                          NearDuplicateDetector nearDuplicateDetector,
+                          @Qualifier("newsRestTemplate") RestTemplate restTemplate,
+                          @Qualifier("newsGuard") UpstreamGuard newsGuard,
+                          NewsRateLimitConfig rateLimitConfig, TokenBucketRateLimiter newsRateLimiter,
+                          @Qualifier("newsWebClient") WebClient webClient, ArticleStore articleStore,
+                          @Qualifier("newsRefreshExecutor") AsyncTaskExecutor refreshExecutor) {
         this.newsApiConfig = newsApiConfig;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.restTemplate = restTemplate;
+        this.newsGuard = newsGuard;
+        this.rateLimitConfig = rateLimitConfig;
+        this.rateLimiter = newsRateLimiter;
+        this.webClient = webClient;
+        this.articleStore = articleStore;
+        this.upstreamFlights = new SingleFlight<>("news", meterRegistry);
+        this.payloads = new UpstreamPayloadMetrics("newsapi", meterRegistry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(newsCacheConfig.getMaxSize())
+                .refreshAfterWrite(newsCacheConfig.getRefreshAfterWrite())
+                .expireAfterWrite(newsCacheConfig.getExpireAfterWrite())
+                .executor(refreshExecutor)
+                .recordStats()
+                .buildAsync(new CacheLoader<>() {
+                    @Override
+                    public List<NewsArticleDto> load(String company) {
+                        return fetchFromUpstream(company, RequestPriority.INTERACTIVE);
+                    }
+
+                    @Override
+                    public List<NewsArticleDto> reload(String company, List<NewsArticleDto> oldValue) {
+                        return fetchFromUpstream(company, RequestPriority.BACKGROUND);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "news");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of lookups served from the cache since startup")
+                .tag("cache", "news")
+                .register(meterRegistry);
     }
 
+    /**
+     * Latest articles for a company, served from cache when possible.
+     * Company names are matched case-insensitively.
+     */
     public List<NewsArticleDto> fetchNewsForCompany(String company) {
-        String url = UriComponentsBuilder.fromHttpUrl("https://newsapi.org/v2/everything")
+        String key = cacheKey(company);
+        // A synchronous loading cache would call NewsAPI inside ConcurrentHashMap.compute, which holds a monitor
+        // and pins virtual threads. Instead only an empty future is registered there and the caller that
+        // registered it loads outside the map; concurrent callers wait on that future.
+        CompletableFuture<List<NewsArticleDto>> mine = new CompletableFuture<>();
+        CompletableFuture<List<NewsArticleDto>> future = cache.get(key, (k, executor) -> mine);
+        if (future == mine) {
+            try {
+                mine.complete(fetchFromUpstream(key, RequestPriority.INTERACTIVE));
+            } catch (Throwable e) {
+                // Never leave the future pending in the cache, or every later caller would hang on it
+                mine.completeExceptionally(e);
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #fetchNewsForCompany} for the reactive digest pipeline.
+     * Shares the cache (and in-flight loads) with the blocking path; a miss calls NewsAPI through WebClient.
+     */
+    public Mono<List<NewsArticleDto>> fetchNewsReactive(String company) {
+        return Mono.defer(() -> {
+            String key = cacheKey(company);
+            CompletableFuture<List<NewsArticleDto>> mine = new CompletableFuture<>();
+            CompletableFuture<List<NewsArticleDto>> future = cache.get(key, (k, executor) -> mine);
+            if (future == mine) {
+                callNewsApiReactive(key).subscribe(mine::complete, mine::completeExceptionally,
+                        () -> mine.complete(List.of()));
+            }
+            // Cancelling one subscriber must not cancel a load that other callers share
+            return Mono.fromFuture(future, true);
+        });
+    }
+
+    /**
+     * Reloads a company from NewsAPI regardless of cache state and stores the result.
+     * Used by the pre-warming scheduler; always costs one upstream call.
+     */
+    public List<NewsArticleDto> refreshNewsForCompany(String company) {
+        String key = cacheKey(company);
+        List<NewsArticleDto> articles = fetchFromUpstream(key, RequestPriority.BACKGROUND);
+        cache.synchronous().put(key, articles);
+        return articles;
+    }
+
+    /**
+     * Up to {@code limit} articles seen for a company across all fetches, newest first. Fetches the company
+     * first when nothing is stored for it yet.
+     */
+    public List<NewsArticleDto> historyForCompany(String company, int limit) {
+        String key = cacheKey(company);
+        List<NewsArticleDto> history = articleStore.history(key, limit);
+        if (history.isEmpty()) {
+            fetchNewsForCompany(key);
+            history = articleStore.history(key, limit);
+        }
+        return collapse(history);
+    }
+
+    static String cacheKey(String company) {
+        return company.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Concurrent loads, background refreshes and scheduler refreshes of the same company share one NewsAPI call.
+     * Throws {@link com.marketdigestai.resilience.UpstreamUnavailableException} while NewsAPI's circuit is open
+     * or its rate limit / daily quota is exhausted; a failed background refresh keeps serving the previously
+     * cached articles. A coalesced call keeps the priority of the caller that started it.
+     */
+    private List<NewsArticleDto> fetchFromUpstream(String company, RequestPriority priority) {
+        return upstreamFlights.execute(company, () -> callNewsApi(company, priority));
+    }
+
+    /**
+     * Asks NewsAPI only for articles published since the newest stored one and merges them into the
+     * {@link ArticleStore}; the result is the latest stored articles, old and new.
+     */
+    private List<NewsArticleDto> callNewsApi(String company, RequestPriority priority) {
+        // Don't queue for a permit, or spend quota, while the call would be rejected anyway
+        newsGuard.checkCircuit();
+        rateLimiter.acquire(priority, rateLimitConfig.maxWaitFor(priority));
+        URI url = newsApiUri(company);
+        List<NewsArticleDto> articles;
+        try {
+            articles = newsGuard.execute(() -> restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                CountingInputStream body = payloads.counting(response.getBody());
+                List<NewsArticleDto> parsed = responseParser.parse(body);
+                payloads.recordResponse(body);
+                return parsed;
+            }));
+        } catch (UpstreamUnavailableException e) {
+            // The guard rejected the call, so NewsAPI never saw it
+            rateLimiter.release();
+            throw e;
+        } catch (HttpClientErrorException.TooManyRequests e) {
+            // Our budget is out of step with the server's; stop spending until the bucket refills
+            rateLimiter.drain();
+            throw e;
+        }
+        return collapse(articleStore.merge(company, articles != null ? articles : List.of()));
+    }
+
+    private Mono<List<NewsArticleDto>> callNewsApiReactive(String company) {
+        URI url = newsApiUri(company);
+        Duration maxWait = rateLimitConfig.maxWaitFor(RequestPriority.INTERACTIVE);
+        // The rate limiter parks the caller while throttled, so that wait must stay off the event loop
+        return Mono.fromRunnable(() -> {
+                    newsGuard.checkCircuit();
+                    rateLimiter.acquire(RequestPriority.INTERACTIVE, maxWait);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then(newsGuard.executeReactive(() -> webClient.get().uri(url).retrieve().bodyToMono(byte[].class))
+                        .doOnError(UpstreamUnavailableException.class, e -> rateLimiter.release()))
+                // Merging may append to the store's file, so it runs off the event loop
+                .publishOn(Schedulers.boundedElastic())
+                .map(body -> {
+                    payloads.recordResponse(body.length);
+                    try {
+                        return collapse(articleStore.merge(company, responseParser.parse(new ByteArrayInputStream(body))));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                })
+                .doOnError(WebClientResponseException.TooManyRequests.class, e -> rateLimiter.drain());
+    }
+
+    private URI newsApiUri(String company) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(newsApiConfig.getNewsApiUrl())
                 .queryParam("q", company)
                 .queryParam("sortBy", "publishedAt")
                 .queryParam("pageSize", 10)
                 .queryParam("language", "en")
-                .queryParam("apiKey", newsApiConfig.getNewsApiKey())
-                .toUriString();
-
-        ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
-        List<NewsArticleDto> articles = new ArrayList<>();
-        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-            List<Map<String, Object>> newsList = (List<Map<String, Object>>) response.getBody().get("articles");
-            if (newsList != null) {
-                for (Map<String, Object> item : newsList) {
-                    Map<String, Object> source = (Map<String, Object>) item.get("source");
-                    articles.add(new NewsArticleDto(
-                            (String) item.get("title"),
-                            (String) item.get("description"),
-                            (String) item.get("url"),
-                            (String) item.get("publishedAt"),
-                            source != null ? (String) source.get("name") : null
-                    ));
-                }
-            }
+                .queryParam("apiKey", newsApiConfig.getNewsApiKey());
+        String from = articleStore.incrementalFrom(company);
+        if (from != null) {
+            builder.queryParam("from", from);
         }
-        return articles;
+        return builder
+                .encode()
+                .build()
+                .toUri();
+    }
+
+    private List<NewsArticleDto> collapse(List<NewsArticleDto> articles) {
+        return articles != null ? List.copyOf(nearDuplicateDetector.collapse(articles)) : List.of();
     }
 }
@@ -0,0 +1,121 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.NewsFetchConfig;
+import com.marketdigestai.dto.CompanyNewsResultDto;
+import com.marketdigestai.dto.NewsArticleDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches news for several companies concurrently.
+ *
+ * <p>
+ * Every company is submitted to the news fetch executor at once, so a request costs roughly the slowest
+ * upstream call instead of the sum of all of them. Companies still loading when the per-request deadline
+ * expires are reported as {@code TIMED_OUT} and the companies that did answer are returned as-is.
+ * </p>
+ * <p>
+ * The deadline does not interrupt those loads: each keeps its executor thread until NewsAPI answers or
+ * {@code http.client.news.response-timeout} expires, and its result still fills the cache for the next request.
+ * Background cache refreshes run on their own executor, so late loads cannot starve them.
+ * </p>
+ */
+@Service
+public class NewsFetchService {
+    private static final Logger logger = LoggerFactory.getLogger(NewsFetchService.class);
+    private final NewsApiService newsApiService;
+    private final NewsFetchConfig newsFetchConfig;
+    private final AsyncTaskExecutor executor;
+
+    @Autowired
+    public NewsFetchService(NewsApiService newsApiService, NewsFetchConfig newsFetchConfig,
+                            @Qualifier("newsFetchExecutor") AsyncTaskExecutor executor) {
+        this.newsApiService = newsApiService;
+        this.newsFetchConfig = newsFetchConfig;
+        this.executor = executor;
+    }
+
+    /**
+     * Fetch news for all companies in parallel, waiting at most the configured deadline.
+     * @param companies company names as sent by the client; blanks and duplicates are ignored
+     * @return one result per company, in request order
+     */
+    public Map<String, CompanyNewsResultDto> fetchAll(List<String> companies) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(newsFetchConfig.getDeadlineMs());
+        Map<String, CompletableFuture<Outcome>> pending = new LinkedHashMap<>();
+        Map<String, CompanyNewsResultDto> results = new LinkedHashMap<>();
+        for (String company : companies) {
+            if (company == null || company.isBlank() || pending.containsKey(company) || results.containsKey(company)) {
+                continue;
+            }
+            try {
+                pending.put(company, CompletableFuture.supplyAsync(() -> fetch(company), executor));
+            } catch (TaskRejectedException e) {
+                logger.warn("News fetch for {} rejected, executor saturated", company);
+                results.put(company, failed(company, "Rejected", 0));
+            }
+        }
+
+        for (Map.Entry<String, CompletableFuture<Outcome>> entry : pending.entrySet()) {
+            String company = entry.getKey();
+            CompletableFuture<Outcome> future = entry.getValue();
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            try {
+                Outcome outcome = future.get(remaining, TimeUnit.NANOSECONDS);
+                if (outcome.error() == null) {
+                    results.put(company, new CompanyNewsResultDto(company, CompanyNewsResultDto.Status.OK,
+                            outcome.articles(), outcome.elapsedMs(), null));
+                } else {
+                    results.put(company, failed(company, outcome.error().getClass().getSimpleName(), outcome.elapsedMs()));
+                }
+            } catch (TimeoutException e) {
+                logger.warn("News fetch for {} exceeded the {} ms deadline", company, newsFetchConfig.getDeadlineMs());
+                results.put(company, new CompanyNewsResultDto(company, CompanyNewsResultDto.Status.TIMED_OUT,
+                        List.of(), newsFetchConfig.getDeadlineMs(), "Deadline exceeded"));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.put(company, failed(company, "Interrupted", 0));
+            } catch (ExecutionException e) {
+                // fetch() never completes exceptionally, but keep the map total
+                results.put(company, failed(company, e.getCause().getClass().getSimpleName(), 0));
+            }
+        }
+        return results;
+    }
+
+    private Outcome fetch(String company) {
+        long start = System.nanoTime();
+        try {
+            List<NewsArticleDto> articles = newsApiService.fetchNewsForCompany(company);
+            return new Outcome(articles, null, elapsedMs(start));
+        } catch (Exception e) {
+            // Upstream exception messages can contain the request URL and therefore the API key
+            logger.warn("News fetch for {} failed: {}", company, e.getClass().getSimpleName());
+            return new Outcome(List.of(), e, elapsedMs(start));
+        }
+    }
+
+    private static CompanyNewsResultDto failed(String company, String error, long elapsedMs) {
+        return new CompanyNewsResultDto(company, CompanyNewsResultDto.Status.FAILED, List.of(), elapsedMs, error);
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private record Outcome(List<NewsArticleDto> articles, Exception error, long elapsedMs) {
+    }
+}
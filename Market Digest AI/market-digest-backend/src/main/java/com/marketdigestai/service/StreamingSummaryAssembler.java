@@ -0,0 +1,253 @@
+package com.marketdigestai.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incrementally extracts {@code summary}, {@code keyPoints} and {@code sentiment} from the JSON object
+ * the model is asked to produce, while that JSON is still incomplete.
+ *
+ * <p>
+ * The scanner is deliberately lenient: it looks for the field names anywhere in the accumulated text, so
+ * markdown code fences or leading prose around the JSON do not matter. Only string content that has been
+ * fully received (no dangling escape sequence or half of a surrogate pair) is reported.
+ * </p>
+ * <p>
+ * Each field keeps its own scan position, so every received character is looked at a bounded number of times
+ * however many chunks the answer arrives in.
+ * </p>
+ */
+public class StreamingSummaryAssembler {
+    private final StringBuilder raw = new StringBuilder();
+    private final SummaryStreamListener listener;
+    private final FieldValue summary = new FieldValue("summary", '"');
+    private final FieldValue keyPointsArray = new FieldValue("keyPoints", '[');
+    private final FieldValue sentimentValue = new FieldValue("sentiment", '"');
+    private int summaryEmitted;
+    private final List<String> keyPoints = new ArrayList<>();
+    /** Position in the {@code keyPoints} array after the last complete element, or -1 before the array is found. */
+    private int keyPointsPos = -1;
+    private JsonString keyPoint;
+    private boolean keyPointsEnded;
+    private JsonString sentimentString;
+    private String sentiment;
+
+    public StreamingSummaryAssembler(SummaryStreamListener listener) {
+        this.listener = listener;
+    }
+
+    public void append(String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        raw.append(text);
+        listener.onToken(text);
+
+        JsonString summaryString = summary.string();
+        if (summaryString != null) {
+            summaryString.read();
+            int end = summaryString.safeLength();
+            if (end > summaryEmitted) {
+                listener.onSummaryDelta(summaryString.value.substring(summaryEmitted, end));
+                summaryEmitted = end;
+            }
+        }
+
+        readKeyPoints();
+
+        if (sentiment == null) {
+            if (sentimentString == null) {
+                sentimentString = sentimentValue.string();
+            }
+            if (sentimentString != null && sentimentString.read()) {
+                sentiment = sentimentString.value.toString();
+                listener.onSentiment(sentiment);
+            }
+        }
+    }
+
+    public String getRawText() {
+        return raw.toString();
+    }
+
+    public String getSummary() {
+        JsonString summaryString = summary.string();
+        return summaryString != null ? summaryString.value.substring(0, summaryString.safeLength()) : null;
+    }
+
+    public List<String> getKeyPoints() {
+        return keyPoints;
+    }
+
+    public String getSentiment() {
+        return sentiment;
+    }
+
+    private void readKeyPoints() {
+        if (keyPointsEnded) {
+            return;
+        }
+        if (keyPointsPos < 0) {
+            int arrayStart = keyPointsArray.find();
+            if (arrayStart < 0) {
+                return;
+            }
+            keyPointsPos = arrayStart + 1;
+        }
+        while (true) {
+            if (keyPoint == null) {
+                keyPointsPos = skip(keyPointsPos, true);
+                if (keyPointsPos >= raw.length()) {
+                    return;
+                }
+                if (raw.charAt(keyPointsPos) != '"') {
+                    // End of the array, or something other than a string: no more key points
+                    keyPointsEnded = true;
+                    return;
+                }
+                keyPoint = new JsonString(keyPointsPos + 1);
+            }
+            if (!keyPoint.read()) {
+                return;
+            }
+            String element = keyPoint.value.toString();
+            keyPoints.add(element);
+            listener.onKeyPoint(element);
+            keyPointsPos = keyPoint.pos;
+            keyPoint = null;
+        }
+    }
+
+    private int skip(int pos, boolean commas) {
+        while (pos < raw.length() && (Character.isWhitespace(raw.charAt(pos)) || (commas && raw.charAt(pos) == ','))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Locates the value of {@code "name" :}, resuming the search where the previous append left off.
+     */
+    private final class FieldValue {
+        private final String key;
+        private final char opening;
+        private int searchFrom;
+        /** Index of the opening character; -1 while not found yet, -2 when the field has another type. */
+        private int start = -1;
+        private JsonString string;
+
+        private FieldValue(String name, char opening) {
+            this.key = "\"" + name + "\"";
+            this.opening = opening;
+        }
+
+        /**
+         * @return index of the opening character, or a negative value if not (yet) present
+         */
+        int find() {
+            while (start == -1) {
+                int idx = raw.indexOf(key, searchFrom);
+                if (idx < 0) {
+                    // The key may still be completed by the next chunk
+                    searchFrom = Math.max(searchFrom, raw.length() - key.length() + 1);
+                    return -1;
+                }
+                int pos = skip(idx + key.length(), false);
+                if (pos >= raw.length()) {
+                    searchFrom = idx;
+                    return -1;
+                }
+                if (raw.charAt(pos) != ':') {
+                    searchFrom = idx + key.length();
+                    continue;
+                }
+                pos = skip(pos + 1, false);
+                if (pos >= raw.length()) {
+                    searchFrom = idx;
+                    return -1;
+                }
+                start = raw.charAt(pos) == opening ? pos : -2;
+            }
+            return start;
+        }
+
+        /**
+         * @return the string value, or {@code null} if not (yet) present
+         */
+        JsonString string() {
+            if (string == null && find() >= 0) {
+                string = new JsonString(start + 1);
+            }
+            return string;
+        }
+    }
+
+    /**
+     * A JSON string decoded as far as it has been received. Stops in front of an escape sequence that is not
+     * complete yet and resumes there.
+     */
+    private final class JsonString {
+        private final StringBuilder value = new StringBuilder();
+        private int pos;
+        private boolean complete;
+
+        private JsonString(int start) {
+            this.pos = start;
+        }
+
+        /**
+         * @return whether the closing quote has been reached
+         */
+        boolean read() {
+            while (!complete && pos < raw.length()) {
+                char c = raw.charAt(pos);
+                if (c == '"') {
+                    complete = true;
+                    pos++;
+                } else if (c != '\\') {
+                    value.append(c);
+                    pos++;
+                } else if (!readEscape()) {
+                    break;
+                }
+            }
+            return complete;
+        }
+
+        private boolean readEscape() {
+            if (pos + 1 >= raw.length()) {
+                return false;
+            }
+            char escaped = raw.charAt(pos + 1);
+            switch (escaped) {
+                case 'n' -> value.append('\n');
+                case 't' -> value.append('\t');
+                case 'r' -> value.append('\r');
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'u' -> {
+                    if (pos + 6 > raw.length()) {
+                        return false;
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(raw.substring(pos + 2, pos + 6), 16));
+                    } catch (NumberFormatException e) {
+                        value.append('?');
+                    }
+                    pos += 4;
+                }
+                default -> value.append(escaped);
+            }
+            pos += 2;
+            return true;
+        }
+
+        /**
+         * Decoded length without a trailing high surrogate whose low half has not arrived yet.
+         */
+        int safeLength() {
+            int length = value.length();
+            return !complete && length > 0 && Character.isHighSurrogate(value.charAt(length - 1)) ? length - 1 : length;
+        }
+    }
+}
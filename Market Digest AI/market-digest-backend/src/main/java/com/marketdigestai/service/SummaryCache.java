@@ -0,0 +1,221 @@
+package com.marketdigestai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.marketdigestai.config.SummaryCacheConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Generated summaries keyed by a content hash of the company and the articles that were summarized.
+ *
+ * <p>
+ * The key is a SHA-256 over the normalized company name and the sorted {@code url}/{@code publishedAt}
+ * pairs, so the same article set yields the same key whatever order the client sends it in.
+ * With persistence enabled each entry is stored as {@code <key>.json} and removed from disk when it is
+ * evicted or expires.
+ * </p>
+ */
+@Component
+public class SummaryCache {
+    private static final Logger logger = LoggerFactory.getLogger(SummaryCache.class);
+    private static final String FILE_SUFFIX = ".json";
+
+    private final SummaryCacheConfig summaryCacheConfig;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Cache<String, Entry> cache;
+
+    @Autowired
+    public SummaryCache(SummaryCacheConfig summaryCacheConfig, MeterRegistry meterRegistry) {
+        this.summaryCacheConfig = summaryCacheConfig;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(summaryCacheConfig.getMaxSize())
+                .expireAfter(new RemainingTtl(summaryCacheConfig.getExpireAfterWrite()))
+                // An eviction listener rather than a removal listener: it runs as part of the eviction, before the
+                // key can be stored again, so deleting an expired summary's file cannot remove its successor's
+                .evictionListener((String key, Entry entry, RemovalCause cause) -> {
+                    if (key != null) {
+                        deleteFile(key);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "summaries");
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .description("Share of lookups served from the cache since startup")
+                .tag("cache", "summaries")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void loadFromDisk() {
+        if (!summaryCacheConfig.isPersistent()) {
+            return;
+        }
+        Path dir = Path.of(summaryCacheConfig.getPersistDir());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            logger.error("Cannot create summary cache directory {}", dir, e);
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - summaryCacheConfig.getExpireAfterWrite().toMillis();
+        int loaded = 0;
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> candidates = files
+                    .filter(p -> p.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .sorted(Comparator.comparingLong(SummaryCache::lastModified).reversed())
+                    .toList();
+            for (Path file : candidates) {
+                if (loaded >= summaryCacheConfig.getMaxSize() || lastModified(file) < cutoff) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                try {
+                    Entry entry = objectMapper.readValue(file.toFile(), Entry.class);
+                    String name = file.getFileName().toString();
+                    cache.asMap().putIfAbsent(name.substring(0, name.length() - FILE_SUFFIX.length()), entry);
+                    loaded++;
+                } catch (IOException e) {
+                    logger.warn("Discarding unreadable summary cache file {}", file);
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load summary cache from {}", dir, e);
+        }
+        logger.info("Loaded {} cached summaries from {}", loaded, dir);
+    }
+
+    public String keyFor(String company, List<NewsArticleDto> articles) {
+        MessageDigest digest = sha256();
+        digest.update(company.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+        articles.stream()
+                .map(a -> nullToEmpty(a.getUrl()) + '\u0000' + nullToEmpty(a.getPublishedAt()))
+                .sorted()
+                .forEach(pair -> {
+                    digest.update((byte) '\n');
+                    digest.update(pair.getBytes(StandardCharsets.UTF_8));
+                });
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public SummarizeResponseDto get(String key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry != null ? entry.summary() : null;
+    }
+
+    public boolean contains(String key) {
+        return cache.asMap().containsKey(key);
+    }
+
+    /**
+     * When {@code summary} was stored under {@code key}, or {@code 0} when the cache holds no or another summary
+     * there (a fallback, or one generated after {@code summary} was served). A replaced entry gets a new value, so
+     * this versions a served summary without reading it; it is not counted as a cache lookup.
+     */
+    public long storedAt(String key, SummarizeResponseDto summary) {
+        Entry entry = cache.asMap().get(key);
+        return entry != null && entry.summary() == summary ? entry.createdAt() : 0;
+    }
+
+    public void put(String key, SummarizeResponseDto summary) {
+        Entry entry = new Entry(summary, System.currentTimeMillis());
+        cache.put(key, entry);
+        if (summaryCacheConfig.isPersistent()) {
+            writeFile(key, entry);
+        }
+    }
+
+    private void writeFile(String key, Entry entry) {
+        Path dir = Path.of(summaryCacheConfig.getPersistDir());
+        try {
+            Path tmp = Files.createTempFile(dir, key, ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entry);
+            Files.move(tmp, dir.resolve(key + FILE_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to persist summary {}", key, e);
+        }
+    }
+
+    private void deleteFile(String key) {
+        if (!summaryCacheConfig.isPersistent()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(summaryCacheConfig.getPersistDir(), key + FILE_SUFFIX));
+        } catch (IOException e) {
+            logger.warn("Failed to delete persisted summary {}", key, e);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * Expires entries relative to when the summary was generated, so entries reloaded from disk keep
+     * their original deadline instead of getting a fresh TTL.
+     */
+    private record RemainingTtl(Duration ttl) implements Expiry<String, Entry> {
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long ageMillis = System.currentTimeMillis() - entry.createdAt();
+            return Math.max(0, ttl.minusMillis(ageMillis).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    record Entry(SummarizeResponseDto summary, long createdAt) {
+    }
+}
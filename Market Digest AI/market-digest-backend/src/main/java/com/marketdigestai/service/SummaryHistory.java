@@ -0,0 +1,121 @@
+package com.marketdigestai.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.marketdigestai.config.IncrementalSummaryConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The latest Gemini summary per company and the articles it already covers.
+ *
+ * <p>
+ * {@link SummaryCache} only helps when exactly the same article set comes back. Here a company's
+ * summary is kept together with the identities of the articles it incorporates, so a refresh that adds one
+ * article can send Gemini the previous summary plus that article instead of the whole list
+ * ({@link Mode#UPDATE}), and a request for exactly the articles it covers reuses the summary without a call
+ * ({@link Mode#REUSE}). A request for only some of them gets a full summary, since the previous one would
+ * also report the articles that were left out. Decisions are counted in {@code summaries.mode}.
+ * </p>
+ */
+@Component
+public class SummaryHistory {
+    public enum Mode { FULL, UPDATE, REUSE }
+
+    private final IncrementalSummaryConfig config;
+    private final Cache<String, Entry> entries;
+    private final Map<Mode, Counter> modeCounters = new EnumMap<>(Mode.class);
+
+    @Autowired
+    public SummaryHistory(IncrementalSummaryConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(config.getMaxCompanies())
+                .expireAfterWrite(config.getExpireAfterWrite())
+                .build();
+        for (Mode mode : Mode.values()) {
+            modeCounters.put(mode, Counter.builder("summaries.mode")
+                    .description("Summaries generated from scratch, updated from the previous one, or reused")
+                    .tag("mode", mode.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Decides how to summarize {@code articles} for {@code company}.
+     * @param incremental whether an update or reuse is allowed at all; {@code false} always plans a full summary
+     */
+    public Plan plan(String company, List<NewsArticleDto> articles, boolean incremental) {
+        Entry previous = incremental ? entries.getIfPresent(key(company)) : null;
+        Plan plan = previous != null ? planAgainst(previous, articles) : Plan.full(articles);
+        modeCounters.get(plan.mode()).increment();
+        return plan;
+    }
+
+    private Plan planAgainst(Entry previous, List<NewsArticleDto> articles) {
+        List<NewsArticleDto> newArticles = articles.stream()
+                .filter(article -> !previous.articleIds().contains(ArticleStore.identity(article)))
+                .toList();
+        if (newArticles.isEmpty()) {
+            Set<String> requested = new HashSet<>();
+            articles.forEach(article -> requested.add(ArticleStore.identity(article)));
+            return requested.equals(previous.articleIds()) ? new Plan(Mode.REUSE, previous, newArticles) : Plan.full(articles);
+        }
+        if (previous.updates() >= config.getMaxUpdates()
+                || newArticles.size() > config.getMaxNewRatio() * articles.size()) {
+            return Plan.full(articles);
+        }
+        return new Plan(Mode.UPDATE, previous, newArticles);
+    }
+
+    /**
+     * Remembers a summary Gemini produced for {@code articles} according to {@code plan}.
+     * Fallback summaries must not be recorded, or later updates would build on them.
+     */
+    public void record(String company, List<NewsArticleDto> articles, SummarizeResponseDto summary, Plan plan) {
+        Set<String> articleIds = new HashSet<>();
+        int updates = 0;
+        if (plan.mode() == Mode.UPDATE) {
+            articleIds.addAll(plan.previous().articleIds());
+            updates = plan.previous().updates() + 1;
+        } else if (plan.mode() == Mode.REUSE) {
+            return;
+        }
+        articles.forEach(article -> articleIds.add(ArticleStore.identity(article)));
+        entries.put(key(company), new Entry(summary, Set.copyOf(articleIds), updates));
+    }
+
+    private static String key(String company) {
+        return company.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param updates incremental updates applied since the last full summary
+     */
+    public record Entry(SummarizeResponseDto summary, Set<String> articleIds, int updates) {
+    }
+
+    /**
+     * @param previous the summary to update or reuse; {@code null} for {@link Mode#FULL}
+     * @param articles what goes into the prompt: all articles for a full summary, only the new ones for an update
+     */
+    public record Plan(Mode mode, Entry previous, List<NewsArticleDto> articles) {
+        /**
+         * A full summary of {@code articles}; unlike {@link #plan} this is not counted in {@code summaries.mode}.
+         */
+        public static Plan full(List<NewsArticleDto> articles) {
+            return new Plan(Mode.FULL, null, articles);
+        }
+    }
+}
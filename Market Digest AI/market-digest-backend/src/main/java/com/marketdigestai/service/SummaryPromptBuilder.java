@@ -0,0 +1,179 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.PromptConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Builds the Gemini prompts for {@link GeminiApiService}.
+ *
+ * <p>
+ * Articles go through a compaction stage before they reach the prompt: near-duplicates are collapsed by
+ * {@link NearDuplicateDetector}, remaining copies with the same normalized title are dropped, the rest are ranked newest first (with a boost for preferred sources),
+ * long descriptions are cut, and articles are added until the estimated token budget is spent.
+ * </p>
+ */
+@Component
+public class SummaryPromptBuilder {
+    static final String SINGLE_INSTRUCTIONS = "\nProvide a comprehensive, multi-paragraph summary suitable for a business/finance audience. The summary should be detailed, clear, and complete, and must not be cut off or truncated. After the summary, list the key points as bullet points. Do not truncate the response. Respond in JSON with fields: summary, keyPoints, sentiment.";
+    static final String UPDATE_INSTRUCTIONS = "\nUpdate the current summary so it also covers the new articles. Keep what is still relevant, revise anything the new articles change or contradict, and give the new developments appropriate weight. The result must read as one comprehensive, multi-paragraph summary suitable for a business/finance audience, not as a changelog. Do not truncate the response. Respond in JSON with fields: summary, keyPoints, sentiment.";
+    static final String BATCH_INSTRUCTIONS = "Summarize the news articles above separately for each company. For every company provide a comprehensive, multi-paragraph summary suitable for a business/finance audience, the key points, and the overall sentiment. Do not truncate the response. Respond with a single JSON object whose keys are exactly the company names given after \"### Company:\" and whose values are objects with fields: summary, keyPoints, sentiment.";
+
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Syndicated headlines often end in " - Source Name" or " | Source Name"
+    private static final Pattern SOURCE_SUFFIX = Pattern.compile("\\s+[-|\u2013\u2014]\\s+[^-|\u2013\u2014]{1,40}$");
+
+    private final PromptConfig promptConfig;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final Set<String> preferredSources;
+
+    @Autowired
+    public SummaryPromptBuilder(PromptConfig promptConfig, NearDuplicateDetector nearDuplicateDetector) {
+        this.promptConfig = promptConfig;
+        this.nearDuplicateDetector = nearDuplicateDetector;
+        this.preferredSources = promptConfig.getPreferredSources().stream()
+                .map(s -> s.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Prompt asking for one company's summary as JSON with fields summary, keyPoints, sentiment.
+     */
+    public SummaryPrompt build(String company, List<NewsArticleDto> articles) {
+        String header = "Summarize the following news articles about " + company + ":\n";
+        int budget = promptConfig.getMaxTokens() - estimateTokens(header) - estimateTokens(SINGLE_INSTRUCTIONS);
+        ArticleSelection selection = compact(articles, budget);
+        String text = header + selection.text() + SINGLE_INSTRUCTIONS;
+        return new SummaryPrompt(text, selection.included(), selection.duplicates(), selection.overBudget(), estimateTokens(text));
+    }
+
+    /**
+     * Prompt asking Gemini to fold {@code newArticles} into an existing summary; answered in the same JSON shape
+     * as {@link #build}. The previous summary is sent in full, the new articles share the remaining budget.
+     */
+    public SummaryPrompt buildUpdate(String company, SummarizeResponseDto previous, List<NewsArticleDto> newArticles) {
+        StringBuilder header = new StringBuilder("Current summary of news about ").append(company).append(":\n")
+                .append(previous.getSummary()).append('\n');
+        if (previous.getKeyPoints() != null && !previous.getKeyPoints().isEmpty()) {
+            header.append("Key points:\n");
+            previous.getKeyPoints().forEach(point -> header.append("- ").append(point).append('\n'));
+        }
+        if (previous.getSentiment() != null && !previous.getSentiment().isBlank()) {
+            header.append("Sentiment: ").append(previous.getSentiment()).append('\n');
+        }
+        header.append("\nNew articles about ").append(company).append(" published since that summary:\n");
+        int budget = promptConfig.getMaxTokens() - estimateTokens(header.toString()) - estimateTokens(UPDATE_INSTRUCTIONS);
+        ArticleSelection selection = compact(newArticles, budget);
+        String text = header + selection.text() + UPDATE_INSTRUCTIONS;
+        return new SummaryPrompt(text, selection.included(), selection.duplicates(), selection.overBudget(), estimateTokens(text));
+    }
+
+    /**
+     * The {@code ### Company:} section for one company inside a batch prompt.
+     */
+    public SummaryPrompt batchSection(String company, List<NewsArticleDto> articles) {
+        String header = "### Company: " + company + "\n";
+        ArticleSelection selection = compact(articles, promptConfig.getMaxTokens() - estimateTokens(header));
+        String text = header + selection.text() + "\n";
+        return new SummaryPrompt(text, selection.included(), selection.duplicates(), selection.overBudget(), estimateTokens(text));
+    }
+
+    public static int estimateTokens(String text) {
+        // Roughly four characters per token for English text
+        return (text.length() + 3) / 4;
+    }
+
+    ArticleSelection compact(List<NewsArticleDto> articles, int tokenBudget) {
+        List<NewsArticleDto> unique = new ArrayList<>();
+        Set<String> seenTitles = new HashSet<>();
+        // Clients may post article lists that never went through NewsApiService, so collapse near-duplicates here too
+        for (NewsArticleDto article : nearDuplicateDetector.collapse(articles)) {
+            if (seenTitles.add(titleKey(article.getTitle()))) {
+                unique.add(article);
+            }
+        }
+        int duplicates = articles.size() - unique.size();
+
+        unique.sort(Comparator.comparing(this::rankingTime).reversed());
+
+        StringBuilder text = new StringBuilder();
+        int used = 0;
+        int included = 0;
+        for (NewsArticleDto article : unique) {
+            String entry = "Title: " + article.getTitle() + "\n"
+                    + "Description: " + truncate(article.getDescription()) + "\n";
+            int tokens = estimateTokens(entry);
+            if (used + tokens > tokenBudget && included > 0) {
+                break;
+            }
+            text.append(entry);
+            used += tokens;
+            included++;
+        }
+        return new ArticleSelection(text.toString(), included, duplicates, unique.size() - included);
+    }
+
+    private Instant rankingTime(NewsArticleDto article) {
+        Instant published = parseInstant(article.getPublishedAt());
+        String source = article.getSourceName();
+        if (source != null && preferredSources.contains(source.trim().toLowerCase(Locale.ROOT))) {
+            return published.plus(promptConfig.getPreferredSourceBoost());
+        }
+        return published;
+    }
+
+    private static Instant parseInstant(String value) {
+        if (value == null || value.isBlank()) {
+            return Instant.EPOCH;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            return Instant.EPOCH;
+        }
+    }
+
+    private String truncate(String description) {
+        if (description == null) {
+            return "";
+        }
+        int max = promptConfig.getMaxDescriptionChars();
+        if (description.length() <= max) {
+            return description;
+        }
+        int cut = description.lastIndexOf(' ', max);
+        return description.substring(0, cut > max / 2 ? cut : max) + "...";
+    }
+
+    private static String titleKey(String title) {
+        if (title == null) {
+            return "";
+        }
+        String withoutSource = SOURCE_SUFFIX.matcher(title.trim()).replaceFirst("");
+        return NON_ALPHANUMERIC.matcher(withoutSource.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    record ArticleSelection(String text, int included, int duplicates, int overBudget) {
+    }
+
+    /**
+     * A built prompt and what the compaction stage did to get there.
+     * @param estimatedTokens prompt size estimated at four characters per token
+     */
+    public record SummaryPrompt(String text, int articlesIncluded, int duplicatesDropped, int droppedForBudget,
+                                int estimatedTokens) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.dto.SummarizeResponseDto;
+
+/**
+ * Receives a summary while Gemini is still generating it.
+ *
+ * <p>
+ * {@link #onSummaryDelta}, {@link #onKeyPoint} and {@link #onSentiment} are derived from the partial JSON
+ * the model has produced so far; {@link #onComplete} always fires last with the final summary, which may
+ * be the cached or fallback summary when no streaming happened.
+ * </p>
+ */
+public interface SummaryStreamListener {
+    /** Raw text fragment as received from Gemini. */
+    void onToken(String text);
+
+    /** Newly decoded characters of the {@code summary} field. */
+    void onSummaryDelta(String text);
+
+    /** A {@code keyPoints} entry that has been fully received. */
+    void onKeyPoint(String keyPoint);
+
+    /** The {@code sentiment} field, once fully received. */
+    void onSentiment(String sentiment);
+
+    void onComplete(SummarizeResponseDto summary);
+}
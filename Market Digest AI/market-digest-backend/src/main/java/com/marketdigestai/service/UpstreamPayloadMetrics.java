@@ -0,0 +1,86 @@
+package com.marketdigestai.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Request and response body sizes of one upstream API, published as {@code upstream.request.size} and
+ * {@code upstream.response.size} in bytes, tagged with {@code upstream}.
+ */
+public class UpstreamPayloadMetrics {
+    private final DistributionSummary requestSize;
+    private final DistributionSummary responseSize;
+
+    public UpstreamPayloadMetrics(String upstream, MeterRegistry meterRegistry) {
+        this.requestSize = DistributionSummary.builder("upstream.request.size")
+                .description("Request body size sent to the upstream API")
+                .baseUnit("bytes")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+        this.responseSize = DistributionSummary.builder("upstream.response.size")
+                .description("Response body size received from the upstream API")
+                .baseUnit("bytes")
+                .tag("upstream", upstream)
+                .register(meterRegistry);
+    }
+
+    public void recordRequest(long bytes) {
+        requestSize.record(bytes);
+    }
+
+    public void recordResponse(long bytes) {
+        responseSize.record(bytes);
+    }
+
+    /**
+     * Wraps a response body that is parsed straight from the stream; pass the wrapper to
+     * {@link #recordResponse(CountingInputStream)} once parsing is done.
+     */
+    public CountingInputStream counting(InputStream body) {
+        return new CountingInputStream(body);
+    }
+
+    public void recordResponse(CountingInputStream body) {
+        responseSize.record(body.count);
+    }
+
+    /**
+     * Counts the bytes read through it; a parser that stops early is only charged for what it read.
+     */
+    public static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
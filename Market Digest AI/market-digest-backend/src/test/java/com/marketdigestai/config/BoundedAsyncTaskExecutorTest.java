@@ -0,0 +1,59 @@
+package com.marketdigestai.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedAsyncTaskExecutorTest {
+    private final BoundedAsyncTaskExecutor executor = new BoundedAsyncTaskExecutor("bounded-", 2);
+
+    @Test
+    void rejectsInsteadOfBlockingWhenFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        executor.execute(() -> await(release));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(TaskRejectedException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(100);
+        assertThat(executor.getActiveTasks()).isEqualTo(2);
+
+        release.countDown();
+        waitUntilIdle();
+        CompletableFuture.runAsync(() -> { }, executor).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void failingTasksReleaseTheirSlot() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Void> task = CompletableFuture.runAsync(() -> {
+                throw new IllegalStateException("boom");
+            }, executor);
+            assertThat(task).failsWithin(5, TimeUnit.SECONDS);
+            // The future fails inside the task, just before its slot is released
+            waitUntilIdle();
+        }
+    }
+
+    private void waitUntilIdle() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveTasks() > 0) {
+            assertThat(System.nanoTime()).as("tasks still running").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.marketdigestai.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.routing.DefaultRoutePlanner;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.protocol.BasicHttpContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpClientConfigTest {
+    private static final String NEWS_URL = "https://newsapi.org/v2/everything";
+    private static final String GEMINI_URL =
+            "https://generativelanguage.googleapis.com/v1beta/models/gemini-2.0-flash:generateContent?key=secret";
+
+    private final DefaultRoutePlanner routePlanner = new DefaultRoutePlanner(null);
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @AfterEach
+    void close() {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+    }
+
+    @Test
+    void perHostCapsApplyToTheRoutesTheClientPlans() throws Exception {
+        connectionManager = connectionManager(NEWS_URL, GEMINI_URL);
+
+        assertThat(connectionManager.getMaxPerRoute(plannedRoute(NEWS_URL))).isEqualTo(7);
+        assertThat(connectionManager.getMaxPerRoute(plannedRoute(GEMINI_URL))).isEqualTo(3);
+        assertThat(connectionManager.getMaxPerRoute(plannedRoute("https://example.com/"))).isEqualTo(20);
+    }
+
+    @Test
+    void plainHttpUpstreamsKeepTheirCaps() throws Exception {
+        String stubNews = "http://localhost:19091/v2/everything";
+        String stubGemini = "http://127.0.0.1:19091/v1beta/models/gemini-2.0-flash:generateContent?key=loadtest";
+        connectionManager = connectionManager(stubNews, stubGemini);
+
+        assertThat(connectionManager.getMaxPerRoute(plannedRoute(stubNews))).isEqualTo(7);
+        assertThat(connectionManager.getMaxPerRoute(plannedRoute(stubGemini))).isEqualTo(3);
+    }
+
+    private HttpRoute plannedRoute(String url) throws Exception {
+        URI uri = URI.create(url);
+        return routePlanner.determineRoute(new HttpHost(uri.getScheme(), uri.getHost(), uri.getPort()), new BasicHttpContext());
+    }
+
+    private static PoolingHttpClientConnectionManager connectionManager(String newsUrl, String geminiUrl) {
+        NewsApiConfig newsApiConfig = new NewsApiConfig();
+        ReflectionTestUtils.setField(newsApiConfig, "newsApiUrl", newsUrl);
+        GeminiApiConfig geminiApiConfig = new GeminiApiConfig();
+        ReflectionTestUtils.setField(geminiApiConfig, "geminiApiUrl", geminiUrl);
+
+        HttpClientConfig config = new HttpClientConfig();
+        ReflectionTestUtils.setField(config, "maxTotal", 100);
+        ReflectionTestUtils.setField(config, "maxPerRoute", 20);
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofSeconds(3));
+        ReflectionTestUtils.setField(config, "timeToLive", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(config, "newsMaxConnections", 7);
+        ReflectionTestUtils.setField(config, "geminiMaxConnections", 3);
+        return config.outboundConnectionManager(newsApiConfig, geminiApiConfig, new SimpleMeterRegistry());
+    }
+}
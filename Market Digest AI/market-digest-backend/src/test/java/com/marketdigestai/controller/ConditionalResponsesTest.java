@@ -0,0 +1,43 @@
+package com.marketdigestai.controller;
+
+import com.marketdigestai.controller.ConditionalResponses.Version;
+import com.marketdigestai.dto.NewsArticleDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponsesTest {
+    private static final NewsArticleDto APPLE = new NewsArticleDto("Apple beats estimates", "Revenue up",
+            "https://news/apple", "2026-03-01T08:00:00Z", "Reuters");
+    private static final NewsArticleDto TESLA = new NewsArticleDto("Tesla recall", "Seat belts",
+            "https://news/tesla", "2026-03-01T09:00:00Z", "AP");
+
+    @Test
+    void sameIdentitiesGiveTheSameWeakEtag() {
+        String etag = new Version().add("Apple").addArticles(List.of(APPLE, TESLA)).etag();
+
+        assertThat(etag).matches("W/\"[0-9a-f]{32}\"");
+        assertThat(new Version().add("Apple").addArticles(List.of(APPLE, TESLA)).etag()).isEqualTo(etag);
+    }
+
+    @Test
+    void anyIdentifyingChangeGivesANewEtag() {
+        String etag = new Version().add("Apple").addArticles(List.of(APPLE)).add(1000L).etag();
+        NewsArticleDto folded = new NewsArticleDto(APPLE.getTitle(), APPLE.getDescription(), APPLE.getUrl(),
+                APPLE.getPublishedAt(), APPLE.getSourceName());
+        folded.setDuplicateCount(2);
+
+        assertThat(new Version().add("Apple").addArticles(List.of(APPLE, TESLA)).add(1000L).etag()).isNotEqualTo(etag);
+        assertThat(new Version().add("Apple").addArticles(List.of(folded)).add(1000L).etag()).isNotEqualTo(etag);
+        // A regenerated summary is stored again under the same key
+        assertThat(new Version().add("Apple").addArticles(List.of(APPLE)).add(2000L).etag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void partsDoNotRunIntoEachOther() {
+        assertThat(new Version().add("ab").add("c").etag()).isNotEqualTo(new Version().add("a").add("bc").etag());
+        assertThat(new Version().addArticles(List.of()).etag()).isNotEqualTo(new Version().addArticles(null).etag());
+    }
+}
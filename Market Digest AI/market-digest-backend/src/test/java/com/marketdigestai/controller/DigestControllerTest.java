@@ -0,0 +1,114 @@
+package com.marketdigestai.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketdigestai.config.NewsCacheConfig;
+import com.marketdigestai.config.SummaryCacheConfig;
+import com.marketdigestai.dto.CompanyDigestDto;
+import com.marketdigestai.dto.CompanyNewsResultDto.Status;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.pipeline.DigestPipeline;
+import com.marketdigestai.service.CompanyPopularityTracker;
+import com.marketdigestai.service.SummaryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class DigestControllerTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DigestPipeline pipeline = mock(DigestPipeline.class);
+    private final CompanyPopularityTracker popularityTracker = new CompanyPopularityTracker();
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+            new DigestController(pipeline, popularityTracker, newsCacheConfig(), summaryCache())).build();
+
+    @Test
+    void digestsAreStreamedInCompletionOrder() throws Exception {
+        // Tesla finishes before Apple even though it was asked for second
+        when(pipeline.digest(List.of("Apple", "Tesla"))).thenReturn(Flux.merge(
+                Mono.just(digest("Apple")).delayElement(Duration.ofMillis(200)),
+                Mono.just(digest("Tesla")).delayElement(Duration.ofMillis(20))));
+
+        MvcResult started = mockMvc.perform(post("/api/digest")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content("{\"companies\": [\"Apple\", \"Tesla\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        started.getAsyncResult(5000);
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk()).andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+        List<String> lines = result.getResponse().getContentAsString().lines().toList();
+        assertThat(lines).hasSize(2);
+        assertThat(lines).extracting(line -> objectMapper.readTree(line).get("company").asText())
+                .containsExactly("Tesla", "Apple");
+        assertThat(popularityTracker.topCompanies(10)).contains("Apple", "Tesla");
+    }
+
+    @Test
+    void pollingSortsDigestsInRequestOrderAndRevalidates() throws Exception {
+        when(pipeline.digest(anyList())).thenAnswer(invocation -> Flux.just(digest("Tesla"), digest("Apple")));
+
+        MvcResult first = poll(null).andExpect(status().isOk()).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(objectMapper.readTree(first.getResponse().getContentAsString()))
+                .extracting(node -> node.get("company").asText())
+                .containsExactly("Apple", "Tesla");
+        assertThat(etag).startsWith("W/\"");
+        assertThat(first.getResponse().getHeader(HttpHeaders.CACHE_CONTROL)).contains("max-age=60");
+        poll(etag).andExpect(status().isNotModified());
+    }
+
+    private ResultActions poll(String ifNoneMatch) throws Exception {
+        var request = get("/api/digest").param("company", "Apple", "Tesla").accept(MediaType.APPLICATION_JSON);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        started.getAsyncResult(5000);
+        return mockMvc.perform(asyncDispatch(started));
+    }
+
+    private static CompanyDigestDto digest(String company) {
+        List<NewsArticleDto> articles = List.of(new NewsArticleDto(company + " news", "description",
+                "https://news/" + company, "2026-03-01T08:00:00Z", "Reuters"));
+        return new CompanyDigestDto(company, Status.OK, articles, new SummarizeResponseDto(company + " summary",
+                List.of(), "neutral"), 10, null);
+    }
+
+    private static NewsCacheConfig newsCacheConfig() {
+        NewsCacheConfig config = new NewsCacheConfig();
+        ReflectionTestUtils.setField(config, "refreshAfterWrite", Duration.ofMinutes(1));
+        return config;
+    }
+
+    private static SummaryCache summaryCache() {
+        SummaryCacheConfig config = new SummaryCacheConfig();
+        ReflectionTestUtils.setField(config, "maxSize", 10L);
+        ReflectionTestUtils.setField(config, "expireAfterWrite", Duration.ofHours(1));
+        ReflectionTestUtils.setField(config, "persistDir", "");
+        return new SummaryCache(config, new SimpleMeterRegistry());
+    }
+}
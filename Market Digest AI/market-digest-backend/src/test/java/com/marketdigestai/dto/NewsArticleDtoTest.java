@@ -0,0 +1,35 @@
+package com.marketdigestai.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NewsArticleDtoTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void articleWithoutDuplicatesOmitsClusterFields() throws Exception {
+        NewsArticleDto article = new NewsArticleDto("Title", "Description", "https://example.com/a",
+                "2026-01-01T00:00:00Z", "Reuters");
+
+        String json = objectMapper.writeValueAsString(article);
+
+        assertThat(json).doesNotContain("duplicateCount").doesNotContain("duplicateSources");
+        assertThat(objectMapper.readValue(json, NewsArticleDto.class).getDuplicateCount()).isZero();
+    }
+
+    @Test
+    void clusteredArticleCarriesClusterFields() throws Exception {
+        NewsArticleDto article = new NewsArticleDto("Title", "Description", "https://example.com/a",
+                "2026-01-01T00:00:00Z", "Reuters");
+        article.setDuplicateCount(2);
+        article.setDuplicateSources(List.of("CNBC", "Bloomberg"));
+
+        String json = objectMapper.writeValueAsString(article);
+
+        assertThat(json).contains("\"duplicateCount\":2").contains("\"duplicateSources\":[\"CNBC\",\"Bloomberg\"]");
+    }
+}
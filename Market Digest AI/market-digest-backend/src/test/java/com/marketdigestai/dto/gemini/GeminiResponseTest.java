@@ -0,0 +1,67 @@
+package com.marketdigestai.dto.gemini;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiResponseTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void bindsTheFieldsWeReadAndIgnoresTheRest() throws Exception {
+        GeminiResponse response = objectMapper.readValue("""
+                {"candidates": [{
+                   "content": {"parts": [{"text": "{\\"summary\\": \\"Up\\"}"}], "role": "model"},
+                   "finishReason": "STOP", "index": 0,
+                   "safetyRatings": [{"category": "HARM_CATEGORY_HARASSMENT", "probability": "NEGLIGIBLE"}]}],
+                 "usageMetadata": {"promptTokenCount": 412, "candidatesTokenCount": 96, "totalTokenCount": 508,
+                   "promptTokensDetails": [{"modality": "TEXT", "tokenCount": 412}]},
+                 "modelVersion": "gemini-1.5-flash", "responseId": "abc"}
+                """, GeminiResponse.class);
+
+        assertThat(response.hasCandidates()).isTrue();
+        assertThat(response.firstCandidateText()).isEqualTo("{\"summary\": \"Up\"}");
+        assertThat(response.candidates().get(0).finishReason()).isEqualTo("STOP");
+        assertThat(response.usageMetadata())
+                .isEqualTo(new GeminiResponse.UsageMetadata(412, 96, 508));
+    }
+
+    @Test
+    void joinsTextPartsOfTheFirstCandidate() throws Exception {
+        GeminiResponse response = objectMapper.readValue("""
+                {"candidates": [
+                  {"content": {"parts": [{"text": "{\\"summary\\": "}, {"inlineData": {}}, {"text": "\\"Up\\"}"}]}},
+                  {"content": {"parts": [{"text": "second candidate"}]}}]}
+                """, GeminiResponse.class);
+
+        assertThat(response.firstCandidateText()).isEqualTo("{\"summary\": \"Up\"}");
+        assertThat(response.usageMetadata()).isNull();
+    }
+
+    @Test
+    void blockedOrEmptyAnswersHaveNoText() throws Exception {
+        GeminiResponse blocked = objectMapper.readValue("""
+                {"promptFeedback": {"blockReason": "SAFETY"}, "usageMetadata": {"promptTokenCount": 12}}
+                """, GeminiResponse.class);
+        GeminiResponse noContent = objectMapper.readValue("""
+                {"candidates": [{"finishReason": "MAX_TOKENS"}]}
+                """, GeminiResponse.class);
+        GeminiResponse nullText = objectMapper.readValue("""
+                {"candidates": [{"content": {"parts": [{"text": null}]}}]}
+                """, GeminiResponse.class);
+
+        assertThat(blocked.hasCandidates()).isFalse();
+        assertThat(blocked.firstCandidateText()).isEmpty();
+        assertThat(blocked.usageMetadata().promptTokenCount()).isEqualTo(12);
+        assertThat(noContent.hasCandidates()).isTrue();
+        assertThat(noContent.firstCandidateText()).isEmpty();
+        assertThat(nullText.firstCandidateText()).isEmpty();
+    }
+
+    @Test
+    void requestSerializesToThePromptShape() throws Exception {
+        assertThat(objectMapper.writeValueAsString(GeminiRequest.ofPrompt("Summarize")))
+                .isEqualTo("{\"contents\":[{\"parts\":[{\"text\":\"Summarize\"}]}]}");
+    }
+}
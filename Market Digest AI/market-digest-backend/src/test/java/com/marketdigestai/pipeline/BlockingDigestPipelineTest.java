@@ -0,0 +1,103 @@
+package com.marketdigestai.pipeline;
+
+import com.marketdigestai.config.BoundedAsyncTaskExecutor;
+import com.marketdigestai.config.DigestPipelineConfig;
+import com.marketdigestai.dto.CompanyDigestDto;
+import com.marketdigestai.dto.CompanyNewsResultDto.Status;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.NewsApiService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockingDigestPipelineTest {
+    private final NewsApiService newsApiService = mock(NewsApiService.class);
+    private final GeminiApiService geminiApiService = mock(GeminiApiService.class);
+
+    @Test
+    void concurrentRequestsForMoreCompaniesThanBothExecutorsHoldStillComplete() {
+        when(newsApiService.fetchNewsForCompany(anyString())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return List.of(article(invocation.getArgument(0)));
+        });
+        when(geminiApiService.summarize(anyString(), anyList())).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return new SummarizeResponseDto("summary", List.of(), "neutral");
+        });
+        // Each stage submits to the other's executor from its own threads; executors that blocked the submitter
+        // instead of rejecting can leave news and digest threads waiting on each other here
+        BlockingDigestPipeline pipeline = new BlockingDigestPipeline(newsApiService, geminiApiService, config(8),
+                new BoundedAsyncTaskExecutor("news-fetch-", 2), new BoundedAsyncTaskExecutor("digest-", 2));
+        List<String> companies = IntStream.range(0, 20).mapToObj(i -> "Company " + i).toList();
+
+        List<List<CompanyDigestDto>> responses = Flux.range(0, 8)
+                .flatMap(request -> pipeline.digest(companies).collectList().subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .block(Duration.ofSeconds(20));
+
+        assertThat(responses).hasSize(8).allSatisfy(digests -> {
+            assertThat(digests).extracting(CompanyDigestDto::getCompany).containsExactlyInAnyOrderElementsOf(companies);
+            assertThat(digests).extracting(CompanyDigestDto::getStatus).isSubsetOf(Status.OK, Status.FAILED);
+        });
+        assertThat(responses).flatMap(digests -> digests)
+                .filteredOn(digest -> digest.getStatus() == Status.OK).isNotEmpty()
+                .allSatisfy(digest -> assertThat(digest.getSummary().getSummary()).isEqualTo("summary"));
+    }
+
+    @Test
+    void saturatedExecutorsFailCompaniesInsteadOfBlocking() {
+        BoundedAsyncTaskExecutor newsExecutor = new BoundedAsyncTaskExecutor("news-fetch-", 2);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                newsExecutor.execute(() -> await(release));
+            }
+            BlockingDigestPipeline pipeline = new BlockingDigestPipeline(newsApiService, geminiApiService, config(8),
+                    newsExecutor, new BoundedAsyncTaskExecutor("digest-", 2));
+
+            List<CompanyDigestDto> digests = pipeline.digest(List.of("Apple", "Tesla")).collectList()
+                    .block(Duration.ofSeconds(2));
+
+            assertThat(digests).extracting(CompanyDigestDto::getStatus).containsOnly(Status.FAILED);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static DigestPipelineConfig config(int concurrency) {
+        DigestPipelineConfig config = new DigestPipelineConfig();
+        ReflectionTestUtils.setField(config, "concurrency", concurrency);
+        ReflectionTestUtils.setField(config, "newsTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(config, "summarizeTimeout", Duration.ofSeconds(5));
+        return config;
+    }
+
+    private static NewsArticleDto article(String company) {
+        return new NewsArticleDto(company, "description", "https://news/" + company.replace(' ', '-'),
+                "2026-03-01T08:00:00Z", "Reuters");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.marketdigestai.pipeline;
+
+import com.marketdigestai.config.DigestPipelineConfig;
+import com.marketdigestai.dto.CompanyDigestDto;
+import com.marketdigestai.dto.CompanyNewsResultDto.Status;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.NewsApiService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveDigestPipelineTest {
+    private static final Duration NEWS_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration SUMMARIZE_TIMEOUT = Duration.ofSeconds(3);
+
+    private final NewsApiService newsApiService = mock(NewsApiService.class);
+    private final GeminiApiService geminiApiService = mock(GeminiApiService.class);
+
+    @Test
+    void slowNewsTimesOutWithoutHoldingBackOtherCompanies() {
+        when(newsApiService.fetchNewsReactive(anyString()))
+                .thenAnswer(invocation -> Mono.just(List.of(article(invocation.getArgument(0)))));
+        when(newsApiService.fetchNewsReactive("Tesla")).thenReturn(Mono.never());
+        when(newsApiService.fetchNewsReactive("Nvidia")).thenReturn(Mono.error(new ResourceAccessException("refused")));
+        when(newsApiService.fetchNewsReactive("Quiet")).thenReturn(Mono.just(List.of()));
+        when(geminiApiService.summarizeReactive(anyString(), anyList(), eq(SUMMARIZE_TIMEOUT)))
+                .thenReturn(Mono.just(new SummarizeResponseDto("summary", List.of(), "neutral")));
+
+        long start = System.nanoTime();
+        List<CompanyDigestDto> digests = pipeline(8).digest(List.of("Apple", "Tesla", "Nvidia", "Quiet", "Apple", " "))
+                .collectList().block(Duration.ofSeconds(5));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertThat(elapsedMs).isBetween(NEWS_TIMEOUT.toMillis(), NEWS_TIMEOUT.toMillis() + 2000);
+        // Emitted as each company completes, so the timed-out one comes last
+        assertThat(digests)
+                .extracting(CompanyDigestDto::getCompany, CompanyDigestDto::getStatus, CompanyDigestDto::getError)
+                .containsExactly(
+                        tuple("Apple", Status.OK, null),
+                        tuple("Nvidia", Status.FAILED, "ResourceAccessException"),
+                        tuple("Quiet", Status.OK, null),
+                        tuple("Tesla", Status.TIMED_OUT, "TimeoutException"));
+        assertThat(digests.get(0).getSummary().getSummary()).isEqualTo("summary");
+        assertThat(digests.get(2).getSummary()).isNull();
+        verify(geminiApiService, never()).summarizeReactive(eq("Quiet"), anyList(), any());
+    }
+
+    @Test
+    void noMoreThanTheConcurrencyLimitOfCompaniesIsInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(newsApiService.fetchNewsReactive(anyString())).thenAnswer(invocation -> Mono.defer(() -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return Mono.just(List.of(article(invocation.getArgument(0))));
+        }));
+        when(geminiApiService.summarizeReactive(anyString(), anyList(), any()))
+                .thenAnswer(invocation -> Mono.just(new SummarizeResponseDto("summary", List.of(), "neutral"))
+                        .delayElement(Duration.ofMillis(20))
+                        .doOnSuccess(summary -> inFlight.decrementAndGet()));
+        List<String> companies = IntStream.range(0, 12).mapToObj(i -> "Company " + i).toList();
+
+        List<CompanyDigestDto> digests = pipeline(3).digest(companies).collectList().block(Duration.ofSeconds(5));
+
+        assertThat(digests).extracting(CompanyDigestDto::getCompany).containsExactlyInAnyOrderElementsOf(companies);
+        assertThat(digests).extracting(CompanyDigestDto::getStatus).containsOnly(Status.OK);
+        assertThat(maxInFlight.get()).isEqualTo(3);
+    }
+
+    @Test
+    void cancelledDigestStopsFetchingCompanies() {
+        AtomicInteger fetched = new AtomicInteger();
+        when(newsApiService.fetchNewsReactive(anyString())).thenAnswer(invocation -> Mono.fromSupplier(() -> {
+            fetched.incrementAndGet();
+            return List.of(article(invocation.getArgument(0)));
+        }));
+        when(geminiApiService.summarizeReactive(anyString(), anyList(), any()))
+                .thenAnswer(invocation -> Mono.just(new SummarizeResponseDto("summary", List.of(), "neutral"))
+                        .delayElement(Duration.ofMillis(10)));
+        List<String> companies = IntStream.range(0, 50).mapToObj(i -> "Company " + i).toList();
+
+        List<CompanyDigestDto> firstTwo = pipeline(4).digest(companies).take(2).collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(firstTwo).hasSize(2);
+        // Companies are pulled one concurrency window at a time, so cancelling stops the rest from being fetched
+        assertThat(fetched.get()).isLessThanOrEqualTo(2 + 4);
+    }
+
+    private ReactiveDigestPipeline pipeline(int concurrency) {
+        DigestPipelineConfig config = new DigestPipelineConfig();
+        ReflectionTestUtils.setField(config, "concurrency", concurrency);
+        ReflectionTestUtils.setField(config, "newsTimeout", NEWS_TIMEOUT);
+        ReflectionTestUtils.setField(config, "summarizeTimeout", SUMMARIZE_TIMEOUT);
+        return new ReactiveDigestPipeline(newsApiService, geminiApiService, config);
+    }
+
+    private static NewsArticleDto article(String company) {
+        return new NewsArticleDto(company, "description", "https://news/" + company.replace(' ', '-'),
+                "2026-03-01T08:00:00Z", "Reuters");
+    }
+}
@@ -0,0 +1,98 @@
+package com.marketdigestai.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = Duration.ofMillis(100).toNanos();
+    private static final long SLOW = Duration.ofSeconds(5).toNanos();
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(4, 1, 6, 0.5, Duration.ofSeconds(1));
+
+    @Test
+    void rejectsCallsBeyondTheLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.onIgnored();
+        assertThat(limiter.getInFlight()).isEqualTo(3);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void waitsBoundedTimeForAReleasedPermit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        long start = System.nanoTime();
+        assertThat(limiter.tryAcquire(Duration.ofMillis(50))).isFalse();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(Duration.ofMillis(50).toNanos());
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> limiter.tryAcquire(Duration.ofSeconds(5)));
+        Thread.sleep(50);
+        assertThat(waiting).isNotDone();
+        limiter.onSuccess(FAST);
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void growsByAboutOnePerLimitsWorthOfFastCalls() {
+        // 4 + 1/4 + 1/4.25 + ... passes 5 on the fifth call
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+            limiter.onSuccess(FAST);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        limiter.onSuccess(FAST);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void neverGrowsBeyondMaxLimit() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void slowCallsAndFailuresBackOffDownToMinLimit() {
+        limiter.tryAcquire();
+        limiter.onSuccess(SLOW);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.tryAcquire();
+        limiter.onFailure();
+        assertThat(limiter.getLimit()).isEqualTo(1);
+
+        limiter.tryAcquire();
+        limiter.onFailure();
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void ignoredCallsLeaveTheLimitAlone() {
+        limiter.tryAcquire();
+        limiter.onIgnored();
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,184 @@
+package com.marketdigestai.resilience;
+
+import com.marketdigestai.resilience.TokenBucketRateLimiter.Waiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketRateLimiterTest {
+    private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+    private final FakeClock clock = new FakeClock(Instant.parse("2026-03-01T23:00:00Z"));
+
+    @Test
+    void burstIsServedWithoutWaiting() {
+        FakeTimeLimiter limiter = limiter(3, 1.0, 0, 0);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        }
+
+        assertThat(limiter.waits).isEmpty();
+        assertThat(limiter.getUsedToday()).isEqualTo(3);
+    }
+
+    @Test
+    void waitsForTheBucketToRefill() {
+        FakeTimeLimiter limiter = limiter(1, 2.0, 0, 0);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+
+        // Two permits per second: the next one is 500 ms away
+        assertThat(limiter.waits).containsExactly(500L);
+        assertThat(clock.millis() - Instant.parse("2026-03-01T23:00:00Z").toEpochMilli()).isEqualTo(500);
+    }
+
+    @Test
+    void refillIsCappedAtCapacity() {
+        FakeTimeLimiter limiter = limiter(2, 1.0, 0, 0);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        clock.advance(Duration.ofMinutes(1));
+
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+
+        assertThat(limiter.waits).containsExactly(1000L);
+    }
+
+    @Test
+    void givesUpAfterMaxWait() {
+        FakeTimeLimiter limiter = limiter(1, 0.1, 0, 0);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+
+        assertThatThrownBy(() -> limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("no permit within 5000 ms");
+        assertThat(limiter.waits.stream().mapToLong(Long::longValue).sum()).isEqualTo(5000);
+        assertThat(limiter.getQueueLength()).isZero();
+    }
+
+    @Test
+    void interactiveWaitersAreServedBeforeEarlierBackgroundWaiters() {
+        FakeTimeLimiter limiter = limiter(1, 1.0, 0, 0);
+        limiter.drain();
+        Waiter background = limiter.enqueue(RequestPriority.BACKGROUND);
+        Waiter laterBackground = limiter.enqueue(RequestPriority.BACKGROUND);
+        Waiter interactive = limiter.enqueue(RequestPriority.INTERACTIVE);
+        clock.advance(Duration.ofSeconds(1));
+
+        assertThat(limiter.tryTake(background)).isEqualTo(Long.MAX_VALUE);
+        assertThat(limiter.tryTake(interactive)).isZero();
+        limiter.dequeue(interactive);
+
+        // Bucket is empty again; the earliest background waiter is next in line
+        assertThat(limiter.tryTake(background)).isEqualTo(1000);
+        assertThat(limiter.tryTake(laterBackground)).isEqualTo(Long.MAX_VALUE);
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(limiter.tryTake(background)).isZero();
+    }
+
+    @Test
+    void backgroundCallsLeaveTheReserveForInteractiveOnes() {
+        FakeTimeLimiter limiter = limiter(10, 10.0, 3, 1);
+        limiter.acquire(RequestPriority.BACKGROUND, MAX_WAIT);
+        limiter.acquire(RequestPriority.BACKGROUND, MAX_WAIT);
+
+        assertThatThrownBy(() -> limiter.acquire(RequestPriority.BACKGROUND, MAX_WAIT))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("daily quota exhausted for background calls");
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        assertThatThrownBy(() -> limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("daily quota exhausted for interactive calls");
+        assertThat(limiter.waits).isEmpty();
+    }
+
+    @Test
+    void quotaResetsAtMidnightInTheQuotaZone() {
+        FakeTimeLimiter limiter = limiter(10, 10.0, 1, 0);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        assertThatThrownBy(() -> limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT))
+                .isInstanceOf(UpstreamUnavailableException.class);
+
+        clock.advance(Duration.ofHours(1));
+
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        assertThat(limiter.getUsedToday()).isEqualTo(1);
+    }
+
+    @Test
+    void releaseGivesBackTheTokenAndTheQuota() {
+        FakeTimeLimiter limiter = limiter(1, 0.1, 1, 0);
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+
+        limiter.release();
+
+        assertThat(limiter.getUsedToday()).isZero();
+        limiter.acquire(RequestPriority.INTERACTIVE, MAX_WAIT);
+        assertThat(limiter.waits).isEmpty();
+    }
+
+    private FakeTimeLimiter limiter(int capacity, double permitsPerSecond, long dailyQuota, long backgroundReserve) {
+        return new FakeTimeLimiter(clock, capacity, permitsPerSecond, dailyQuota, backgroundReserve);
+    }
+
+    /**
+     * Waiting advances the fake clock by the requested time instead of parking the thread.
+     */
+    private static final class FakeTimeLimiter extends TokenBucketRateLimiter {
+        private final FakeClock clock;
+        private final List<Long> waits = new ArrayList<>();
+
+        FakeTimeLimiter(FakeClock clock, int capacity, double permitsPerSecond, long dailyQuota, long backgroundReserve) {
+            super("test", clock, capacity, permitsPerSecond, dailyQuota, backgroundReserve, ZoneOffset.UTC,
+                    new SimpleMeterRegistry());
+            this.clock = clock;
+        }
+
+        @Override
+        void await(long millis) {
+            waits.add(millis);
+            clock.advance(Duration.ofMillis(millis));
+        }
+    }
+
+    private static final class FakeClock extends Clock {
+        private Instant now;
+
+        FakeClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
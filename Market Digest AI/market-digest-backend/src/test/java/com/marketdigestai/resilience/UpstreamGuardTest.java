@@ -0,0 +1,92 @@
+package com.marketdigestai.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UpstreamGuardTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(4, 2, 0.5, Duration.ofSeconds(30), 1, now::get);
+    // Zero threshold: every call that takes any time at all counts as slow
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 8, 0.5, Duration.ZERO);
+    private final UpstreamGuard guard = new UpstreamGuard("test", breaker, limiter, new SimpleMeterRegistry());
+
+    @Test
+    void errorThrownByTheCallReleasesThePermit() {
+        assertThatThrownBy(() -> guard.execute(() -> {
+            throw new AssertionError("boom");
+        })).isInstanceOf(AssertionError.class);
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void clientErrorsDoNotCountAgainstTheUpstream() {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "bad", null, null, null);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void upstreamFailuresOpenTheCircuitAndRejectWithoutCalling() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw new ResourceAccessException("timed out");
+            })).isInstanceOf(ResourceAccessException.class);
+        }
+
+        assertThatThrownBy(() -> guard.execute(() -> {
+            throw new AssertionError("must not be called");
+        })).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void checkCircuitFailsFastOnlyWhileOpen() {
+        guard.checkCircuit();
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> guard.execute(() -> {
+                throw new ResourceAccessException("timed out");
+            })).isInstanceOf(ResourceAccessException.class);
+        }
+
+        assertThatThrownBy(guard::checkCircuit).isInstanceOf(UpstreamUnavailableException.class);
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+        guard.checkCircuit();
+        // Checking does not take the single half-open trial
+        assertThat(guard.execute(() -> "trial")).isEqualTo("trial");
+    }
+
+    @Test
+    void slowStreamingCallDoesNotShrinkTheLimit() {
+        assertThat(guard.executeStreaming(UpstreamGuardTest::takeSomeTime)).isEqualTo("done");
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        assertThat(guard.execute(UpstreamGuardTest::takeSomeTime)).isEqualTo("done");
+        assertThat(limiter.getLimit()).isEqualTo(2);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private static String takeSomeTime() {
+        long start = System.nanoTime();
+        while (System.nanoTime() == start) {
+            Thread.onSpinWait();
+        }
+        return "done";
+    }
+}
@@ -0,0 +1,97 @@
+package com.marketdigestai.scheduler;
+
+import com.marketdigestai.config.PrewarmConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.CompanyDirectory;
+import com.marketdigestai.service.CompanyPopularityTracker;
+import com.marketdigestai.service.GeminiApiService;
+import com.marketdigestai.service.NewsApiService;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DigestPrewarmSchedulerTest {
+    private final CompanyDirectory companyDirectory = mock(CompanyDirectory.class);
+    private final CompanyPopularityTracker popularityTracker = new CompanyPopularityTracker();
+    private final NewsApiService newsApiService = mock(NewsApiService.class);
+    private final GeminiApiService geminiApiService = mock(GeminiApiService.class);
+
+    @Test
+    void stopsRefreshingAndSummarizingAtTheRunBudgets() {
+        when(companyDirectory.getCompanies()).thenReturn(List.of("Apple", "Tesla", "Nvidia", "Amazon", "Microsoft"));
+        when(newsApiService.refreshNewsForCompany(anyString()))
+                .thenAnswer(invocation -> List.of(article(invocation.getArgument(0))));
+        when(geminiApiService.summarize(anyString(), anyList()))
+                .thenReturn(new SummarizeResponseDto("summary", List.of(), "neutral"));
+
+        scheduler(config(3, 2, true)).prewarm();
+
+        verify(newsApiService, times(3)).refreshNewsForCompany(anyString());
+        verify(newsApiService, never()).refreshNewsForCompany("Amazon");
+        verify(newsApiService, never()).refreshNewsForCompany("Microsoft");
+        verify(geminiApiService, times(2)).summarize(anyString(), anyList());
+    }
+
+    @Test
+    void cachedSummariesDoNotSpendTheSummaryBudget() {
+        when(companyDirectory.getCompanies()).thenReturn(List.of("Apple", "Tesla", "Nvidia"));
+        when(newsApiService.refreshNewsForCompany(anyString()))
+                .thenAnswer(invocation -> List.of(article(invocation.getArgument(0))));
+        when(geminiApiService.isSummaryCached(eq("Apple"), anyList())).thenReturn(true);
+        when(geminiApiService.isSummaryCached(eq("Tesla"), anyList())).thenReturn(true);
+
+        scheduler(config(10, 1, true)).prewarm();
+
+        verify(geminiApiService, never()).summarize(eq("Apple"), anyList());
+        verify(geminiApiService, never()).summarize(eq("Tesla"), anyList());
+        verify(geminiApiService).summarize(eq("Nvidia"), anyList());
+    }
+
+    @Test
+    void popularAdhocCompaniesAreWarmedAfterTheDirectory() {
+        when(companyDirectory.getCompanies()).thenReturn(List.of("Apple"));
+        when(newsApiService.refreshNewsForCompany(anyString())).thenReturn(List.of());
+        popularityTracker.record("Palantir");
+        popularityTracker.record("palantir");
+        popularityTracker.record("Rivian");
+        popularityTracker.record("apple");
+
+        scheduler(config(10, 10, false)).prewarm();
+
+        verify(newsApiService).refreshNewsForCompany("Apple");
+        verify(newsApiService).refreshNewsForCompany("Palantir");
+        verify(newsApiService, never()).refreshNewsForCompany("Rivian");
+        verify(newsApiService, never()).refreshNewsForCompany("apple");
+        verify(geminiApiService, never()).summarize(anyString(), anyList());
+    }
+
+    private DigestPrewarmScheduler scheduler(PrewarmConfig config) {
+        return new DigestPrewarmScheduler(config, companyDirectory, popularityTracker, newsApiService, geminiApiService,
+                new SimpleAsyncTaskExecutor("prewarm-"));
+    }
+
+    private static PrewarmConfig config(int maxNewsCalls, int maxSummaries, boolean summarize) {
+        PrewarmConfig config = new PrewarmConfig();
+        ReflectionTestUtils.setField(config, "adhocTopN", 1);
+        ReflectionTestUtils.setField(config, "maxNewsCallsPerRun", maxNewsCalls);
+        ReflectionTestUtils.setField(config, "maxSummariesPerRun", maxSummaries);
+        ReflectionTestUtils.setField(config, "summarize", summarize);
+        return config;
+    }
+
+    private static NewsArticleDto article(String company) {
+        return new NewsArticleDto(company, "description", "https://news/" + company, "2026-03-01T08:00:00Z", "Reuters");
+    }
+}
@@ -0,0 +1,104 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.ArticleStoreConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleStoreTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void mergeKeepsNewArticlesNewestFirst() {
+        ArticleStore store = store(10);
+        store.merge("apple", List.of(article("a", "2026-03-01T08:00:00Z")));
+
+        List<NewsArticleDto> latest = store.merge("apple",
+                List.of(article("a", "2026-03-01T08:00:00Z"), article("b", "2026-03-01T09:00:00Z")));
+
+        assertThat(latest).extracting(NewsArticleDto::getUrl).containsExactly("https://news/b", "https://news/a");
+        assertThat(store.incrementalFrom("apple")).isEqualTo("2026-03-01T08:50:00Z");
+    }
+
+    @Test
+    void evictedCompaniesLoseTheirFile() throws Exception {
+        ArticleStore store = store(2);
+        for (String company : List.of("apple", "tesla", "nvidia", "amazon")) {
+            store.merge(company, List.of(article(company, "2026-03-01T08:00:00Z")));
+        }
+
+        // Caffeine evicts in the background and picks victims by frequency, so only the outcome is checked
+        waitUntil(() -> files().size() == 2);
+        List<String> kept = Stream.of("apple", "tesla", "nvidia", "amazon")
+                .filter(company -> !store.history(company, 10).isEmpty())
+                .toList();
+        assertThat(files()).containsExactlyInAnyOrderElementsOf(kept.stream().map(company -> company + ".jsonl").toList());
+    }
+
+    @Test
+    void startupKeepsOnlyTheMostRecentlyWrittenFiles() throws Exception {
+        ArticleStore previous = store(10);
+        previous.merge("apple", List.of(article("apple", "2026-03-01T08:00:00Z")));
+        previous.merge("tesla", List.of(article("tesla", "2026-03-01T08:00:00Z")));
+        previous.merge("nvidia", List.of(article("nvidia", "2026-03-01T08:00:00Z")));
+        Instant now = Instant.parse("2026-03-01T12:00:00Z");
+        Files.setLastModifiedTime(dir.resolve("apple.jsonl"), FileTime.from(now.minusSeconds(60)));
+        Files.setLastModifiedTime(dir.resolve("tesla.jsonl"), FileTime.from(now));
+        Files.setLastModifiedTime(dir.resolve("nvidia.jsonl"), FileTime.from(now.minusSeconds(30)));
+
+        ArticleStore restarted = store(2);
+
+        assertThat(files()).containsExactlyInAnyOrder("tesla.jsonl", "nvidia.jsonl");
+        assertThat(restarted.history("tesla", 10)).hasSize(1);
+        assertThat(restarted.history("apple", 10)).isEmpty();
+    }
+
+    private ArticleStore store(long maxCompanies) {
+        ArticleStoreConfig config = new ArticleStoreConfig();
+        ReflectionTestUtils.setField(config, "enabled", true);
+        ReflectionTestUtils.setField(config, "persistDir", dir.toString());
+        ReflectionTestUtils.setField(config, "maxCompanies", maxCompanies);
+        ReflectionTestUtils.setField(config, "maxArticlesPerCompany", 200);
+        ReflectionTestUtils.setField(config, "latestSize", 10);
+        ReflectionTestUtils.setField(config, "fromOverlap", Duration.ofMinutes(10));
+        ArticleStore store = new ArticleStore(config, new SimpleMeterRegistry());
+        store.loadFromDisk();
+        return store;
+    }
+
+    private List<String> files() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static NewsArticleDto article(String slug, String publishedAt) {
+        return new NewsArticleDto(slug, "description", "https://news/" + slug, publishedAt, "Reuters");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.service.CompanyIndex.Company;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompanyDirectoryTest {
+    @Test
+    void splitsPlainAndQuotedFields() {
+        assertThat(CompanyDirectory.splitCsvLine("Apple,AAPL,Apple Inc,true"))
+                .containsExactly("Apple", "AAPL", "Apple Inc", "true");
+        assertThat(CompanyDirectory.splitCsvLine("\"Berkshire Hathaway, Inc.\",BRK.B,,false"))
+                .containsExactly("Berkshire Hathaway, Inc.", "BRK.B", "", "false");
+        assertThat(CompanyDirectory.splitCsvLine("\"The \"\"Big\"\" Co\",BIG"))
+                .containsExactly("The \"Big\" Co", "BIG");
+        assertThat(CompanyDirectory.splitCsvLine("Apple,")).containsExactly("Apple", "");
+        assertThat(CompanyDirectory.splitCsvLine("")).containsExactly("");
+    }
+
+    @Test
+    void loadsCompaniesWithAliasesAndFeaturedFlag() {
+        List<Company> companies = CompanyDirectory.load(csv("""
+                Name, Ticker, Aliases, Featured
+                Alphabet,GOOGL,Google|Alphabet Inc,true
+
+                ,XXX,,true
+                "Procter & Gamble, Co.",PG
+                """));
+
+        assertThat(companies).containsExactly(
+                new Company("Alphabet", "GOOGL", List.of("Google", "Alphabet Inc"), true),
+                new Company("Procter & Gamble, Co.", "PG", List.of(), false));
+    }
+
+    @Test
+    void acceptsAByteOrderMark() {
+        assertThat(CompanyDirectory.load(csv("\uFEFFname,ticker,aliases,featured\nApple,AAPL,,true\n"))).hasSize(1);
+    }
+
+    @Test
+    void rejectsAMissingOrDifferentHeader() {
+        assertThatThrownBy(() -> CompanyDirectory.load(csv("")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("name,ticker,aliases,featured");
+        assertThatThrownBy(() -> CompanyDirectory.load(csv("Apple,AAPL,Apple Inc,true\n")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("starts with Apple,AAPL,Apple Inc,true");
+        assertThatThrownBy(() -> CompanyDirectory.load(csv("ticker,name,aliases,featured\n")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static ByteArrayResource csv(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,64 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.service.CompanyIndex.Company;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompanyIndexTest {
+    private final CompanyIndex index = new CompanyIndex(List.of(
+            company("Apple", "AAPL", true, "Apple Inc"),
+            company("Pineapple Holdings", "PNPL", false),
+            company("Big Apple Corp", "BAC2", false),
+            company("Apple Hospitality REIT", "APLE", false),
+            company("Bank of Nova Scotia", "BNS", false),
+            company("Bank of America", "BAC", true),
+            company("Microsoft", "MSFT", true),
+            company("MSC Industrial", "MSM", false),
+            company("Morgan Stanley", "MS", false),
+            company("Alphabet", "GOOGL", true, "Google"),
+            company("Nestlé", "NSRGY", false)));
+
+    @Test
+    void ranksExactThenPrefixThenWordThenInfix() {
+        assertThat(index.search("apple", 10))
+                .containsExactly("Apple", "Apple Hospitality REIT", "Big Apple Corp", "Pineapple Holdings");
+    }
+
+    @Test
+    void exactTickerBeatsNamePrefixBeatsTickerPrefix() {
+        assertThat(index.search("ms", 10)).containsExactly("Morgan Stanley", "MSC Industrial", "Microsoft");
+    }
+
+    @Test
+    void featuredCompaniesLeadWithinATier() {
+        assertThat(index.search("bank", 10)).containsExactly("Bank of America", "Bank of Nova Scotia");
+    }
+
+    @Test
+    void matchesAliasesTickersAndAccentFreeSpelling() {
+        assertThat(index.search("google", 10)).containsExactly("Alphabet");
+        assertThat(index.search("AAPL", 10)).first().isEqualTo("Apple");
+        assertThat(index.search("nestle", 10)).containsExactly("Nestlé");
+        assertThat(index.search("  Bank-of  ", 10)).containsExactly("Bank of America", "Bank of Nova Scotia");
+    }
+
+    @Test
+    void blankQueryListsFeaturedCompaniesUpToTheLimit() {
+        assertThat(index.search("", 10)).containsExactly("Apple", "Bank of America", "Microsoft", "Alphabet");
+        assertThat(index.search(null, 2)).containsExactly("Apple", "Bank of America");
+        assertThat(index.search("apple", 2)).containsExactly("Apple", "Apple Hospitality REIT");
+    }
+
+    @Test
+    void shortOrUnknownQueriesDoNotScanForInfixes() {
+        assertThat(index.search("pl", 10)).isEmpty();
+        assertThat(index.search("zzz", 10)).isEmpty();
+    }
+
+    private static Company company(String name, String ticker, boolean featured, String... aliases) {
+        return new Company(name, ticker, List.of(aliases), featured);
+    }
+}
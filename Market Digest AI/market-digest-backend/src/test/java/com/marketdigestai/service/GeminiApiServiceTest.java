@@ -0,0 +1,426 @@
+package com.marketdigestai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketdigestai.config.GeminiApiConfig;
+import com.marketdigestai.config.IncrementalSummaryConfig;
+import com.marketdigestai.config.NewsDedupConfig;
+import com.marketdigestai.config.PromptConfig;
+import com.marketdigestai.config.SummaryCacheConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeRequestDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.resilience.AdaptiveConcurrencyLimiter;
+import com.marketdigestai.resilience.CircuitBreaker;
+import com.marketdigestai.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.RequestMatcher;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class GeminiApiServiceTest {
+    private static final String API_URL = "https://gemini.test/v1beta/models/flash:generateContent";
+    private static final String STREAM_URL = "https://gemini.test/v1beta/models/flash:streamGenerateContent?alt=sse";
+    private static final int GEMINI_LIMIT = 4;
+    private static final List<NewsArticleDto> ARTICLES = List.of(new NewsArticleDto("Apple beats estimates",
+            "iPhone sales rose", "https://news/apple", "2026-03-01T08:00:00Z", "Reuters"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate restTemplate = new RestTemplate();
+    // Batches run concurrently, so their calls are matched by prompt rather than by order
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).ignoreExpectOrder(true).build();
+    private final GeminiApiConfig geminiConfig = new GeminiApiConfig();
+    private final GeminiApiService service = service();
+
+    @Test
+    void concurrentIdenticalStreamsShareOneCall() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(once(), requestTo(STREAM_URL)).andRespond(request -> {
+            streaming.countDown();
+            await(release);
+            return sse("{\"summary\": \"Apple ", "rallied\", \"keyPoints\": [\"Beat\"], \"sentiment\": \"positive\"}")
+                    .createResponse(request);
+        });
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+
+        CompletableFuture<Void> firstStream = CompletableFuture.runAsync(() -> service.summarizeStream("Apple", ARTICLES, first));
+        assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> secondStream = CompletableFuture.runAsync(() -> service.summarizeStream("Apple", ARTICLES, second));
+        waitUntil(() -> coalesced() == 1);
+        release.countDown();
+        CompletableFuture.allOf(firstStream, secondStream).get(5, TimeUnit.SECONDS);
+
+        server.verify();
+        assertThat(String.join("", first.deltas)).isEqualTo("Apple rallied");
+        assertThat(first.completed).singleElement().satisfies(summary -> {
+            assertThat(summary.getSummary()).isEqualTo("Apple rallied");
+            assertThat(summary.getKeyPoints()).containsExactly("Beat");
+        });
+        // The joined stream only gets the shared result
+        assertThat(second.deltas).isEmpty();
+        assertThat(second.completed).containsExactlyElementsOf(first.completed);
+    }
+
+    @Test
+    void streamsWaitingForAnAbortedStreamStartTheirOwn() throws Exception {
+        CountDownLatch streaming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        server.expect(once(), requestTo(STREAM_URL)).andRespond(request -> {
+            streaming.countDown();
+            await(release);
+            return sse("{\"summary\": \"Apple rallied\"}").createResponse(request);
+        });
+        server.expect(once(), requestTo(STREAM_URL)).andRespond(sse("{\"summary\": \"Apple rallied again\"}"));
+        RecordingListener disconnected = new RecordingListener() {
+            @Override
+            public void onSummaryDelta(String text) {
+                throw new UncheckedIOException(new IOException("client went away"));
+            }
+        };
+        RecordingListener second = new RecordingListener();
+
+        CompletableFuture<Void> firstStream = CompletableFuture.runAsync(() -> service.summarizeStream("Apple", ARTICLES, disconnected));
+        assertThat(streaming.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> secondStream = CompletableFuture.runAsync(() -> service.summarizeStream("Apple", ARTICLES, second));
+        waitUntil(() -> coalesced() == 1);
+        release.countDown();
+
+        assertThat(firstStream).failsWithin(5, TimeUnit.SECONDS);
+        secondStream.get(5, TimeUnit.SECONDS);
+        server.verify();
+        assertThat(String.join("", second.deltas)).isEqualTo("Apple rallied again");
+        assertThat(second.completed).singleElement()
+                .satisfies(summary -> assertThat(summary.getSummary()).isEqualTo("Apple rallied again"));
+    }
+
+    @Test
+    void summaryIsParsedFromTheTypedEnvelope() {
+        server.expect(once(), requestTo(API_URL)).andRespond(withSuccess("""
+                {"candidates": [{"content": {"parts": [{"text": "```json\\n{\\"summary\\": \\"Apple rallied\\", "},
+                   {"text": "\\"keyPoints\\": [\\"Beat\\"], \\"sentiment\\": \\"positive\\", \\"extra\\": 1}\\n```"}]},
+                   "finishReason": "STOP", "safetyRatings": []}],
+                 "usageMetadata": {"promptTokenCount": 120, "candidatesTokenCount": 30, "totalTokenCount": 150},
+                 "modelVersion": "flash"}
+                """, MediaType.APPLICATION_JSON));
+
+        SummarizeResponseDto summary = service.summarize("Apple", ARTICLES, false);
+
+        server.verify();
+        assertThat(summary.getSummary()).isEqualTo("Apple rallied");
+        assertThat(summary.getKeyPoints()).containsExactly("Beat");
+        assertThat(summary.getSentiment()).isEqualTo("positive");
+        assertThat(meterRegistry.get("gemini.tokens").tag("type", "total").summary().totalAmount()).isEqualTo(150);
+        // Cached: the same articles do not call Gemini again
+        assertThat(service.summarize("Apple", ARTICLES, false)).isSameAs(summary);
+    }
+
+    @Test
+    void contentThatIsNotJsonBecomesTheSummary() {
+        server.expect(once(), requestTo(API_URL)).andRespond(withSuccess(envelope("Apple rallied on strong sales."),
+                MediaType.APPLICATION_JSON));
+
+        SummarizeResponseDto summary = service.summarize("Apple", ARTICLES, false);
+
+        assertThat(summary.getSummary()).isEqualTo("Apple rallied on strong sales.");
+        assertThat(summary.getKeyPoints()).isEmpty();
+        assertThat(meterRegistry.get("gemini.parse.failures").tag("format", "summary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void answerWithoutCandidatesGetsTheFallback() {
+        server.expect(once(), requestTo(API_URL)).andRespond(withSuccess(
+                "{\"promptFeedback\": {\"blockReason\": \"SAFETY\"}}", MediaType.APPLICATION_JSON));
+
+        SummarizeResponseDto summary = service.summarize("Apple", ARTICLES, false);
+
+        assertThat(summary.getSummary()).startsWith("Summary for Apple: Apple beats estimates");
+        assertThat(meterRegistry.get("summaries.fallback").counter().count()).isEqualTo(1);
+        assertThat(service.isSummaryCached("Apple", ARTICLES)).isFalse();
+    }
+
+    @Test
+    void concurrentCallsBeyondTheLimitWaitForASlot() throws Exception {
+        int companies = GEMINI_LIMIT * 3;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        server.expect(times(companies), requestTo(API_URL)).andRespond(request -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                return withSuccess(envelope("{\"summary\": \"Healthy\"}"), MediaType.APPLICATION_JSON)
+                        .createResponse(request);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+
+        SimpleAsyncTaskExecutor callers = new SimpleAsyncTaskExecutor("caller-");
+        List<CompletableFuture<SummarizeResponseDto>> calls = IntStream.range(0, companies)
+                .mapToObj(i -> "Company " + i)
+                .map(company -> CompletableFuture.supplyAsync(() -> service.summarize(company, articles(company), false), callers))
+                .toList();
+
+        // Every call gets Gemini's summary, none the fallback, and no more than the limit run at once
+        for (CompletableFuture<SummarizeResponseDto> call : calls) {
+            assertThat(call.get(10, TimeUnit.SECONDS).getSummary()).isEqualTo("Healthy");
+        }
+        server.verify();
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(GEMINI_LIMIT);
+        assertThat(meterRegistry.get("upstream.rejected").tag("reason", "concurrency_limit").counter().count()).isZero();
+    }
+
+    @Test
+    void batchesArePackedUpToTheCompanyLimit() {
+        ReflectionTestUtils.setField(geminiConfig, "batchMaxCompanies", 2);
+        server.expect(once(), batchOf("Apple", "Tesla")).andRespond(withSuccess(envelope("""
+                {" apple ": {"summary": "Apple rallied", "keyPoints": ["Beat"], "sentiment": "positive"},
+                 "TESLA": {"summary": "Tesla slipped", "keyPoints": [], "sentiment": "negative"}}
+                """), MediaType.APPLICATION_JSON));
+        server.expect(once(), singleFor("Nvidia")).andRespond(withSuccess(envelope("""
+                {"summary": "Nvidia hit a record", "keyPoints": ["Record"], "sentiment": "positive"}
+                """), MediaType.APPLICATION_JSON));
+
+        Map<String, SummarizeResponseDto> summaries = service.summarizeBatch(requests("Apple", "Tesla", "Nvidia", "Apple"));
+
+        server.verify();
+        assertThat(summaries).containsOnlyKeys("Apple", "Tesla", "Nvidia");
+        assertThat(summaries.values()).extracting(SummarizeResponseDto::getSummary)
+                .containsExactly("Apple rallied", "Tesla slipped", "Nvidia hit a record");
+        assertThat(service.isSummaryCached("Tesla", articles("Tesla"))).isTrue();
+    }
+
+    @Test
+    void batchesArePackedUpToTheTokenBudget() {
+        SummaryPromptBuilder promptBuilder = promptBuilder();
+        int section = promptBuilder.batchSection("Apple", articles("Apple")).estimatedTokens();
+        // Room for the instructions and two sections, not three
+        ReflectionTestUtils.setField(geminiConfig, "batchMaxPromptTokens",
+                SummaryPromptBuilder.estimateTokens(SummaryPromptBuilder.BATCH_INSTRUCTIONS) + section * 5 / 2);
+        server.expect(once(), batchOf("Apple", "Tesla")).andRespond(withSuccess(envelope(
+                "{\"Apple\": {\"summary\": \"Apple rallied\"}, \"Tesla\": {\"summary\": \"Tesla slipped\"}}"),
+                MediaType.APPLICATION_JSON));
+        server.expect(once(), batchOf("Amazon", "Nvidia")).andRespond(withSuccess(envelope(
+                "{\"Amazon\": {\"summary\": \"Amazon grew\"}, \"Nvidia\": {\"summary\": \"Nvidia hit a record\"}}"),
+                MediaType.APPLICATION_JSON));
+
+        Map<String, SummarizeResponseDto> summaries = service.summarizeBatch(requests("Apple", "Tesla", "Amazon", "Nvidia"));
+
+        server.verify();
+        assertThat(summaries.values()).extracting(SummarizeResponseDto::getSummary)
+                .containsExactly("Apple rallied", "Tesla slipped", "Amazon grew", "Nvidia hit a record");
+        assertThat(meterRegistry.get("gemini.prompt.size").tag("mode", "batch").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void unparsableBatchFallsBackToSingleCalls() {
+        server.expect(once(), batchOf("Apple", "Tesla")).andRespond(withSuccess(envelope("Apple rallied, Tesla slipped."),
+                MediaType.APPLICATION_JSON));
+        server.expect(once(), singleFor("Apple")).andRespond(withSuccess(envelope("{\"summary\": \"Apple rallied\"}"),
+                MediaType.APPLICATION_JSON));
+        server.expect(once(), singleFor("Tesla")).andRespond(withSuccess(envelope("{\"summary\": \"Tesla slipped\"}"),
+                MediaType.APPLICATION_JSON));
+
+        Map<String, SummarizeResponseDto> summaries = service.summarizeBatch(requests("Apple", "Tesla"));
+
+        server.verify();
+        assertThat(summaries.values()).extracting(SummarizeResponseDto::getSummary)
+                .containsExactly("Apple rallied", "Tesla slipped");
+        assertThat(meterRegistry.get("gemini.parse.failures").tag("format", "batch").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void companiesMissingFromTheBatchAnswerAreSummarizedSingly() {
+        server.expect(once(), batchOf("Apple", "Tesla")).andRespond(withSuccess(envelope(
+                "{\"Apple\": {\"summary\": \"Apple rallied\"}, \"Tesla\": {\"summary\": \" \"}}"),
+                MediaType.APPLICATION_JSON));
+        server.expect(once(), singleFor("Tesla")).andRespond(withSuccess(envelope("{\"summary\": \"Tesla slipped\"}"),
+                MediaType.APPLICATION_JSON));
+
+        Map<String, SummarizeResponseDto> summaries = service.summarizeBatch(requests("Apple", "Tesla"));
+
+        server.verify();
+        assertThat(summaries.values()).extracting(SummarizeResponseDto::getSummary)
+                .containsExactly("Apple rallied", "Tesla slipped");
+    }
+
+    @Test
+    void unreachableGeminiGivesTheBatchFallbacks() {
+        server.expect(once(), batchOf("Apple", "Tesla")).andRespond(withServerError());
+
+        Map<String, SummarizeResponseDto> summaries = service.summarizeBatch(requests("Apple", "Tesla"));
+
+        // No single call per company follows a failed batch
+        server.verify();
+        assertThat(summaries.values()).extracting(SummarizeResponseDto::getSummary)
+                .allSatisfy(summary -> assertThat(summary).startsWith("Summary for "));
+        assertThat(meterRegistry.get("summaries.fallback").counter().count()).isEqualTo(2);
+    }
+
+    /**
+     * Matches a batch prompt with exactly these company sections.
+     */
+    private static RequestMatcher batchOf(String... companies) {
+        return request -> {
+            String prompt = ((MockClientHttpRequest) request).getBodyAsString();
+            assertThat(prompt.split("### Company: ", -1)).as(prompt).hasSize(companies.length + 1);
+            for (String company : companies) {
+                assertThat(prompt).contains("### Company: " + company + "\\n");
+            }
+        };
+    }
+
+    private static RequestMatcher singleFor(String company) {
+        return request -> assertThat(((MockClientHttpRequest) request).getBodyAsString())
+                .contains("news articles about " + company + ":");
+    }
+
+    private static List<SummarizeRequestDto> requests(String... companies) {
+        return Stream.of(companies).map(company -> new SummarizeRequestDto(company, articles(company))).toList();
+    }
+
+    private static List<NewsArticleDto> articles(String company) {
+        return List.of(new NewsArticleDto(company + " shares move", company + " reported results on Thursday.",
+                "https://news/" + company.toLowerCase(), "2026-03-01T08:00:00Z", "Reuters"));
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("singleflight.coalesced").tag("name", "summaries").counter().count();
+    }
+
+    /**
+     * One server-sent event per chunk of the model's answer.
+     */
+    private ResponseCreator sse(String... chunks) {
+        StringBuilder body = new StringBuilder();
+        for (String chunk : chunks) {
+            body.append("data: ").append(envelope(chunk)).append("\n\n");
+        }
+        return withSuccess(body.toString(), MediaType.TEXT_EVENT_STREAM);
+    }
+
+    private String envelope(String text) {
+        try {
+            return objectMapper.writeValueAsString(Map.of("candidates",
+                    List.of(Map.of("content", Map.of("parts", List.of(Map.of("text", text)))))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private GeminiApiService service() {
+        ReflectionTestUtils.setField(geminiConfig, "geminiApiKey", "secret");
+        ReflectionTestUtils.setField(geminiConfig, "geminiApiUrl", API_URL);
+        ReflectionTestUtils.setField(geminiConfig, "geminiStreamUrl", "");
+        ReflectionTestUtils.setField(geminiConfig, "batchMaxCompanies", 5);
+        ReflectionTestUtils.setField(geminiConfig, "batchMaxPromptTokens", 6000);
+
+        SummaryCacheConfig cacheConfig = new SummaryCacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "maxSize", 10L);
+        ReflectionTestUtils.setField(cacheConfig, "expireAfterWrite", Duration.ofHours(1));
+        ReflectionTestUtils.setField(cacheConfig, "persistDir", "");
+
+        IncrementalSummaryConfig incrementalConfig = new IncrementalSummaryConfig();
+        ReflectionTestUtils.setField(incrementalConfig, "enabled", false);
+        ReflectionTestUtils.setField(incrementalConfig, "maxCompanies", 10L);
+        ReflectionTestUtils.setField(incrementalConfig, "expireAfterWrite", Duration.ofHours(1));
+
+        UpstreamGuard guard = new UpstreamGuard("gemini",
+                new CircuitBreaker(20, 10, 0.5, Duration.ofSeconds(30), 2, System::nanoTime),
+                new AdaptiveConcurrencyLimiter(GEMINI_LIMIT, 1, GEMINI_LIMIT, 0.7, Duration.ofSeconds(30)),
+                Duration.ofSeconds(2), meterRegistry);
+
+        return new GeminiApiService(geminiConfig, new SummaryCache(cacheConfig, meterRegistry), promptBuilder(),
+                new SummaryHistory(incrementalConfig, meterRegistry), incrementalConfig, restTemplate,
+                WebClient.create(), guard, new GeminiMetrics(meterRegistry), meterRegistry,
+                new SimpleAsyncTaskExecutor("digest-"));
+    }
+
+    private static SummaryPromptBuilder promptBuilder() {
+        PromptConfig promptConfig = new PromptConfig();
+        ReflectionTestUtils.setField(promptConfig, "maxTokens", 3000);
+        ReflectionTestUtils.setField(promptConfig, "maxDescriptionChars", 400);
+        ReflectionTestUtils.setField(promptConfig, "preferredSources", List.of("Reuters"));
+        ReflectionTestUtils.setField(promptConfig, "preferredSourceBoost", Duration.ofHours(6));
+        NewsDedupConfig dedupConfig = new NewsDedupConfig();
+        ReflectionTestUtils.setField(dedupConfig, "enabled", true);
+        ReflectionTestUtils.setField(dedupConfig, "maxHammingDistance", 12);
+        return new SummaryPromptBuilder(promptConfig, new NearDuplicateDetector(dedupConfig));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    private static class RecordingListener implements SummaryStreamListener {
+        final List<String> deltas = new ArrayList<>();
+        final List<SummarizeResponseDto> completed = new ArrayList<>();
+
+        @Override
+        public void onToken(String text) {
+        }
+
+        @Override
+        public void onSummaryDelta(String text) {
+            deltas.add(text);
+        }
+
+        @Override
+        public void onKeyPoint(String keyPoint) {
+        }
+
+        @Override
+        public void onSentiment(String sentiment) {
+        }
+
+        @Override
+        public void onComplete(SummarizeResponseDto summary) {
+            completed.add(summary);
+        }
+    }
+}
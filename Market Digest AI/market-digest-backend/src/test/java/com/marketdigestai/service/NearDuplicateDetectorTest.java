@@ -0,0 +1,69 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.NewsDedupConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearDuplicateDetectorTest {
+    private static final String TITLE = "Apple shares jump after record iPhone sales beat Wall Street expectations";
+    private static final String DESCRIPTION = "Apple reported quarterly revenue above analyst forecasts on Thursday, "
+            + "driven by strong iPhone demand in China and growth in its services business.";
+
+    @Test
+    void lightlyEditedCopiesHaveCloseFingerprints() {
+        long original = NearDuplicateDetector.fingerprint(TITLE, DESCRIPTION);
+        long republished = NearDuplicateDetector.fingerprint(TITLE + " - Reuters", DESCRIPTION.replace("Thursday", "Friday"));
+        long unrelated = NearDuplicateDetector.fingerprint("Tesla recalls vehicles over faulty seat belts",
+                "The carmaker said the fix would be delivered over the air to owners in Europe.");
+
+        assertThat(NearDuplicateDetector.fingerprint(TITLE, DESCRIPTION)).isEqualTo(original);
+        assertThat(Long.bitCount(original ^ republished)).isLessThanOrEqualTo(12);
+        assertThat(Long.bitCount(original ^ unrelated)).isGreaterThan(12);
+    }
+
+    @Test
+    void collapsesClusterIntoEarliestArticle() {
+        NewsArticleDto later = article(TITLE + " - CNBC", DESCRIPTION, "2026-01-02T10:00:00Z", "CNBC");
+        NewsArticleDto earliest = article(TITLE, DESCRIPTION, "2026-01-02T08:00:00Z", "Reuters");
+        NewsArticleDto copy = article(TITLE + " | Bloomberg", DESCRIPTION, "2026-01-02T09:00:00Z", "Bloomberg");
+        NewsArticleDto other = article("Tesla recalls vehicles over faulty seat belts",
+                "The carmaker said the fix would be delivered over the air to owners in Europe.",
+                "2026-01-02T07:00:00Z", "AP");
+
+        List<NewsArticleDto> collapsed = detector(true).collapse(List.of(later, earliest, copy, other));
+
+        assertThat(collapsed).extracting(NewsArticleDto::getSourceName).containsExactly("Reuters", "AP");
+        assertThat(collapsed.get(0).getDuplicateCount()).isEqualTo(2);
+        assertThat(collapsed.get(0).getDuplicateSources()).containsExactly("CNBC", "Bloomberg");
+        assertThat(collapsed.get(1).getDuplicateCount()).isZero();
+        assertThat(collapsed.get(1)).isSameAs(other);
+        // The input articles are shared with the cache and must not be modified
+        assertThat(earliest.getDuplicateCount()).isZero();
+    }
+
+    @Test
+    void disabledDetectorReturnsArticlesUnchanged() {
+        List<NewsArticleDto> articles = List.of(
+                article(TITLE, DESCRIPTION, "2026-01-02T08:00:00Z", "Reuters"),
+                article(TITLE, DESCRIPTION, "2026-01-02T09:00:00Z", "CNBC"));
+
+        assertThat(detector(false).collapse(articles)).isSameAs(articles);
+    }
+
+    private static NearDuplicateDetector detector(boolean enabled) {
+        NewsDedupConfig config = new NewsDedupConfig();
+        ReflectionTestUtils.setField(config, "enabled", enabled);
+        ReflectionTestUtils.setField(config, "maxHammingDistance", 12);
+        return new NearDuplicateDetector(config);
+    }
+
+    private static NewsArticleDto article(String title, String description, String publishedAt, String source) {
+        return new NewsArticleDto(title, description, "https://example.com/" + source + "/" + publishedAt,
+                publishedAt, source);
+    }
+}
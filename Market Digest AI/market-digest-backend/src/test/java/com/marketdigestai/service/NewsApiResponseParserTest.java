@@ -0,0 +1,74 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.dto.NewsArticleDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class NewsApiResponseParserTest {
+    private final NewsApiResponseParser parser = new NewsApiResponseParser();
+
+    @Test
+    void readsTheFieldsWeUse() throws IOException {
+        List<NewsArticleDto> articles = parse("everything-apple.json");
+
+        assertThat(articles)
+                .extracting(NewsArticleDto::getTitle, NewsArticleDto::getDescription, NewsArticleDto::getUrl,
+                        NewsArticleDto::getPublishedAt, NewsArticleDto::getSourceName)
+                .containsExactly(
+                        tuple("Apple's quarterly revenue beats estimates on iPhone demand",
+                                "Apple Inc on Thursday forecast revenue growth above Wall Street estimates.",
+                                "https://www.reuters.com/technology/apple-quarterly-revenue-beats-estimates-2026-01-29/",
+                                "2026-01-29T21:45:12Z", "Reuters"),
+                        tuple("Apple Stock Rises After Earnings — \"Best Quarter Ever\"", null,
+                                "https://www.macrumors.com/2026/01/29/apple-earnings/", "2026-01-29T22:03:00Z",
+                                "MacRumors"));
+    }
+
+    @Test
+    void skipsNullsNestedValuesAndUnknownFields() throws IOException {
+        List<NewsArticleDto> articles = parse("everything-irregular.json");
+
+        // null, 42 and the nested array are not articles; structures where a string belongs count as missing
+        assertThat(articles)
+                .extracting(NewsArticleDto::getTitle, NewsArticleDto::getDescription, NewsArticleDto::getUrl,
+                        NewsArticleDto::getPublishedAt, NewsArticleDto::getSourceName)
+                .containsExactly(
+                        tuple(null, null, "https://www.bloomberg.com/news/articles/2026-01-30/tesla-deliveries",
+                                "2026-01-30T07:00:00Z", null),
+                        tuple("Nvidia shares hit a record", "Chipmaker extends rally.",
+                                "https://www.cnbc.com/2026/01/30/nvidia-record.html", null, null),
+                        tuple(null, null, null, null, null));
+    }
+
+    @Test
+    void errorAndEmptyResponsesHaveNoArticles() throws IOException {
+        assertThat(parse(json("{\"status\": \"error\", \"code\": \"apiKeyInvalid\", \"message\": \"Your API key is invalid.\"}")))
+                .isEmpty();
+        assertThat(parse(json("{\"status\": \"ok\", \"totalResults\": 0, \"articles\": null}"))).isEmpty();
+        assertThat(parse(json("[]"))).isEmpty();
+        assertThat(parse(json(""))).isEmpty();
+    }
+
+    private List<NewsArticleDto> parse(String resource) throws IOException {
+        try (InputStream body = getClass().getResourceAsStream("/newsapi/" + resource)) {
+            assertThat(body).as(resource).isNotNull();
+            return parser.parse(body);
+        }
+    }
+
+    private List<NewsArticleDto> parse(InputStream body) throws IOException {
+        return parser.parse(body);
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,154 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.ArticleStoreConfig;
+import com.marketdigestai.config.NewsApiConfig;
+import com.marketdigestai.config.NewsCacheConfig;
+import com.marketdigestai.config.NewsDedupConfig;
+import com.marketdigestai.config.NewsRateLimitConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.resilience.AdaptiveConcurrencyLimiter;
+import com.marketdigestai.resilience.CircuitBreaker;
+import com.marketdigestai.resilience.TokenBucketRateLimiter;
+import com.marketdigestai.resilience.UpstreamGuard;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.client.ResponseCreator;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class NewsApiServiceTest {
+    private static final String NEWS_URL = "https://newsapi.test/v2/everything";
+    private static final Duration REFRESH_AFTER_WRITE = Duration.ofMillis(100);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+    private final NewsApiService service = service();
+
+    @Test
+    void staleEntriesAreServedWhileTheyReload() throws Exception {
+        CountDownLatch reloading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        respond(withSuccess(payload("first"), MediaType.APPLICATION_JSON));
+        respond(request -> {
+            reloading.countDown();
+            await(release);
+            return withSuccess(payload("second"), MediaType.APPLICATION_JSON).createResponse(request);
+        });
+
+        assertThat(urls(service.fetchNewsForCompany("Apple"))).containsExactly("https://news/first");
+        Thread.sleep(REFRESH_AFTER_WRITE.toMillis() * 2);
+
+        // Past refresh-after-write the cached articles are returned at once and NewsAPI is asked in the background
+        assertThat(urls(service.fetchNewsForCompany(" apple "))).containsExactly("https://news/first");
+        assertThat(reloading.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(urls(service.fetchNewsForCompany("APPLE"))).containsExactly("https://news/first");
+
+        release.countDown();
+        waitUntil(() -> urls(service.fetchNewsForCompany("Apple")).equals(List.of("https://news/second")));
+        server.verify();
+    }
+
+    @Test
+    void failedReloadKeepsServingTheCachedArticles() throws Exception {
+        CountDownLatch failed = new CountDownLatch(1);
+        respond(withSuccess(payload("first"), MediaType.APPLICATION_JSON));
+        respond(request -> {
+            try {
+                return withServerError().createResponse(request);
+            } finally {
+                failed.countDown();
+            }
+        });
+
+        service.fetchNewsForCompany("Apple");
+        Thread.sleep(REFRESH_AFTER_WRITE.toMillis() * 2);
+        service.fetchNewsForCompany("Apple");
+
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(urls(service.fetchNewsForCompany("Apple"))).containsExactly("https://news/first");
+    }
+
+    private void respond(ResponseCreator response) {
+        server.expect(requestTo(startsWith(NEWS_URL + "?q=apple&"))).andRespond(response);
+    }
+
+    private NewsApiService service() {
+        NewsApiConfig newsApiConfig = new NewsApiConfig();
+        ReflectionTestUtils.setField(newsApiConfig, "newsApiUrl", NEWS_URL);
+        ReflectionTestUtils.setField(newsApiConfig, "newsApiKey", "secret");
+
+        NewsCacheConfig cacheConfig = new NewsCacheConfig();
+        ReflectionTestUtils.setField(cacheConfig, "maxSize", 10L);
+        ReflectionTestUtils.setField(cacheConfig, "refreshAfterWrite", REFRESH_AFTER_WRITE);
+        ReflectionTestUtils.setField(cacheConfig, "expireAfterWrite", Duration.ofHours(1));
+
+        NewsDedupConfig dedupConfig = new NewsDedupConfig();
+        ReflectionTestUtils.setField(dedupConfig, "enabled", true);
+        ReflectionTestUtils.setField(dedupConfig, "maxHammingDistance", 12);
+
+        NewsRateLimitConfig rateLimitConfig = new NewsRateLimitConfig();
+        ReflectionTestUtils.setField(rateLimitConfig, "interactiveMaxWait", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(rateLimitConfig, "backgroundMaxWait", Duration.ofSeconds(1));
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter("newsapi", Clock.systemUTC(), 10, 10.0, 100, 0,
+                ZoneId.of("UTC"), meterRegistry);
+
+        UpstreamGuard guard = new UpstreamGuard("newsapi",
+                new CircuitBreaker(20, 10, 0.5, Duration.ofSeconds(30), 2, System::nanoTime),
+                new AdaptiveConcurrencyLimiter(8, 1, 16, 0.7, Duration.ofSeconds(3)), meterRegistry);
+
+        ArticleStoreConfig storeConfig = new ArticleStoreConfig();
+        ReflectionTestUtils.setField(storeConfig, "enabled", false);
+
+        return new NewsApiService(newsApiConfig, cacheConfig, meterRegistry, new NearDuplicateDetector(dedupConfig),
+                restTemplate, guard, rateLimitConfig, rateLimiter, WebClient.create(),
+                new ArticleStore(storeConfig, meterRegistry), new SimpleAsyncTaskExecutor("news-refresh-"));
+    }
+
+    private static String payload(String slug) {
+        return """
+                {"status": "ok", "totalResults": 1, "articles": [{
+                  "source": {"id": null, "name": "Reuters"}, "author": "Staff", "title": "Apple %1$s",
+                  "description": "Apple news %1$s", "url": "https://news/%1$s", "urlToImage": null,
+                  "publishedAt": "2026-03-01T08:00:00Z", "content": "..."}]}
+                """.formatted(slug);
+    }
+
+    private static List<String> urls(List<NewsArticleDto> articles) {
+        return articles.stream().map(NewsArticleDto::getUrl).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
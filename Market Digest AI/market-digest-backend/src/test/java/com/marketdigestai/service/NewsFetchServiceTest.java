@@ -0,0 +1,111 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.NewsFetchConfig;
+import com.marketdigestai.dto.CompanyNewsResultDto;
+import com.marketdigestai.dto.CompanyNewsResultDto.Status;
+import com.marketdigestai.dto.NewsArticleDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NewsFetchServiceTest {
+    private static final long DEADLINE_MS = 300;
+
+    private final NewsApiService newsApiService = mock(NewsApiService.class);
+    private final ThreadPoolTaskExecutor executor = executor(4, 16);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void slowAndFailingCompaniesDoNotHoldBackTheOthers() throws Exception {
+        when(newsApiService.fetchNewsForCompany("Apple")).thenReturn(List.of(article("apple")));
+        when(newsApiService.fetchNewsForCompany("Tesla")).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(article("tesla"));
+        });
+        when(newsApiService.fetchNewsForCompany("Nvidia")).thenThrow(new ResourceAccessException("I/O error on GET"));
+
+        long start = System.nanoTime();
+        Map<String, CompanyNewsResultDto> results = service(executor).fetchAll(List.of("Tesla", "Apple", " ", "Nvidia", "Apple"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isBetween(DEADLINE_MS, DEADLINE_MS + 200);
+        assertThat(results.keySet()).containsExactly("Tesla", "Apple", "Nvidia");
+        assertThat(results.get("Apple").getStatus()).isEqualTo(Status.OK);
+        assertThat(results.get("Apple").getArticles()).extracting(NewsArticleDto::getUrl).containsExactly("https://news/apple");
+        assertThat(results.get("Tesla").getStatus()).isEqualTo(Status.TIMED_OUT);
+        assertThat(results.get("Tesla").getElapsedMs()).isEqualTo(DEADLINE_MS);
+        assertThat(results.get("Nvidia").getStatus()).isEqualTo(Status.FAILED);
+        assertThat(results.get("Nvidia").getError()).isEqualTo("ResourceAccessException");
+    }
+
+    @Test
+    void fastRequestsDoNotWaitForTheDeadline() {
+        when(newsApiService.fetchNewsForCompany("Apple")).thenReturn(List.of(article("apple")));
+        when(newsApiService.fetchNewsForCompany("Tesla")).thenReturn(List.of());
+
+        long start = System.nanoTime();
+        Map<String, CompanyNewsResultDto> results = service(executor).fetchAll(List.of("Apple", "Tesla"));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(DEADLINE_MS);
+        assertThat(results.values()).extracting(CompanyNewsResultDto::getStatus).containsOnly(Status.OK);
+    }
+
+    @Test
+    void companiesBeyondTheQueueAreRejected() {
+        ThreadPoolTaskExecutor small = executor(1, 1);
+        try {
+            when(newsApiService.fetchNewsForCompany("Apple")).thenAnswer(invocation -> {
+                release.await(10, TimeUnit.SECONDS);
+                return List.of();
+            });
+
+            Map<String, CompanyNewsResultDto> results = service(small).fetchAll(List.of("Apple", "Tesla", "Nvidia"));
+
+            assertThat(results.get("Apple").getStatus()).isEqualTo(Status.TIMED_OUT);
+            assertThat(results.get("Tesla").getStatus()).isEqualTo(Status.TIMED_OUT);
+            assertThat(results.get("Nvidia").getStatus()).isEqualTo(Status.FAILED);
+            assertThat(results.get("Nvidia").getError()).isEqualTo("Rejected");
+        } finally {
+            release.countDown();
+            small.shutdown();
+        }
+    }
+
+    private NewsFetchService service(AsyncTaskExecutor executor) {
+        NewsFetchConfig config = new NewsFetchConfig();
+        ReflectionTestUtils.setField(config, "deadlineMs", DEADLINE_MS);
+        return new NewsFetchService(newsApiService, config, executor);
+    }
+
+    private static ThreadPoolTaskExecutor executor(int threads, int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("news-fetch-");
+        executor.initialize();
+        return executor;
+    }
+
+    private static NewsArticleDto article(String slug) {
+        return new NewsArticleDto(slug, "description", "https://news/" + slug, "2026-03-01T08:00:00Z", "Reuters");
+    }
+}
@@ -0,0 +1,133 @@
+package com.marketdigestai.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, String> flights = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flights.execute("apple", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "summary";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flights.execute("apple", () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        waitUntil(() -> coalesced() == 1);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void waitingCallersGetTheSameException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> flights.execute("apple", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("upstream down");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> flights.execute("apple", () -> "other"));
+        waitUntil(() -> coalesced() == 1);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("upstream down");
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS)).hasRootCauseMessage("upstream down");
+    }
+
+    @Test
+    void keyIsReleasedOnceTheCallFinishes() {
+        assertThat(flights.execute("apple", () -> "first")).isEqualTo("first");
+        assertThat(flights.inFlight("apple")).isNull();
+        assertThatThrownBy(() -> flights.execute("apple", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(flights.inFlight("apple")).isNull();
+        assertThat(flights.execute("apple", () -> "second")).isEqualTo("second");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void differentKeysDoNotWaitForEachOther() {
+        String outer = flights.execute("apple", () -> flights.execute("tesla", () -> "tesla"));
+        assertThat(outer).isEqualTo("tesla");
+        assertThat(coalesced()).isZero();
+    }
+
+    @Test
+    void asyncFlightIsSharedWithBlockingCallers() throws Exception {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = flights.executeAsync("apple", () -> upstream);
+        CompletableFuture<String> second = flights.executeAsync("apple", () -> CompletableFuture.completedFuture("other"));
+        CompletableFuture<String> blocking = CompletableFuture.supplyAsync(() -> flights.execute("apple", () -> "other"));
+        waitUntil(() -> coalesced() == 2);
+
+        upstream.complete("summary");
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+        assertThat(blocking.get(5, TimeUnit.SECONDS)).isEqualTo("summary");
+        assertThat(flights.inFlight("apple")).isNull();
+    }
+
+    @Test
+    void asyncFlightIsReleasedOnFailure() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> flight = flights.executeAsync("apple", () -> upstream);
+        assertThat(flights.inFlight("apple")).isSameAs(flight);
+
+        upstream.completeExceptionally(new IllegalStateException("upstream down"));
+
+        assertThatThrownBy(flight::join).hasRootCauseMessage("upstream down");
+        assertThat(flights.inFlight("apple")).isNull();
+        assertThatThrownBy(() -> flights.executeAsync("apple", () -> {
+            throw new IllegalStateException("not started");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(flights.inFlight("apple")).isNull();
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("singleflight.coalesced").counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.dto.SummarizeResponseDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingSummaryAssemblerTest {
+    private static final String ANSWER = "```json\n{\"summary\": \"Caf\\u00e9 \\\"chain\\\" up\\n\\ud83d\\ude80 \\\\ 5%\","
+            + " \"keyPoints\": [\"Sales \\u2191\", \"New CEO\\tnamed\", \"\"], \"sentiment\" : \"positive\"}\n```";
+    private static final String SUMMARY = "Café \"chain\" up\n\uD83D\uDE80 \\ 5%";
+    private static final List<String> KEY_POINTS = List.of("Sales ↑", "New CEO\tnamed", "");
+
+    @Test
+    void answerSplitAnywhereIsDecodedTheSame() {
+        // Covers splits inside keys, inside strings, between a backslash and the escaped character and inside \\uXXXX
+        for (int split = 0; split <= ANSWER.length(); split++) {
+            RecordingListener listener = new RecordingListener();
+            StreamingSummaryAssembler assembler = new StreamingSummaryAssembler(listener);
+
+            assembler.append(ANSWER.substring(0, split));
+            assembler.append(ANSWER.substring(split));
+
+            assertThat(String.join("", listener.deltas)).as("split at %d", split).isEqualTo(SUMMARY);
+            assertThat(listener.keyPoints).as("split at %d", split).isEqualTo(KEY_POINTS);
+            assertThat(listener.sentiments).as("split at %d", split).containsExactly("positive");
+            assertThat(assembler.getSummary()).isEqualTo(SUMMARY);
+            assertThat(assembler.getKeyPoints()).isEqualTo(KEY_POINTS);
+            assertThat(assembler.getRawText()).isEqualTo(ANSWER);
+        }
+    }
+
+    @Test
+    void characterByCharacterNeverReportsHalfAnEscapeOrSurrogatePair() {
+        RecordingListener listener = new RecordingListener();
+        StreamingSummaryAssembler assembler = new StreamingSummaryAssembler(listener);
+
+        for (int i = 0; i < ANSWER.length(); i++) {
+            assembler.append(ANSWER.substring(i, i + 1));
+            String summary = assembler.getSummary();
+            if (summary != null) {
+                assertThat(SUMMARY).startsWith(summary);
+                assertThat(summary).doesNotEndWith("\uD83D");
+            }
+        }
+
+        assertThat(listener.deltas).allSatisfy(delta ->
+                assertThat(Character.isHighSurrogate(delta.charAt(delta.length() - 1))).isFalse());
+        assertThat(String.join("", listener.deltas)).isEqualTo(SUMMARY);
+        assertThat(listener.keyPoints).isEqualTo(KEY_POINTS);
+        assertThat(listener.sentiments).containsExactly("positive");
+    }
+
+    @Test
+    void keyPointsAreReportedAsSoonAsTheyAreComplete() {
+        RecordingListener listener = new RecordingListener();
+        StreamingSummaryAssembler assembler = new StreamingSummaryAssembler(listener);
+
+        assembler.append("{\"summary\": \"Up\", \"keyPoints\": [\"First\", \"Sec");
+        assertThat(listener.keyPoints).containsExactly("First");
+
+        assembler.append("ond\"");
+        assertThat(listener.keyPoints).containsExactly("First", "Second");
+
+        assembler.append("], \"sentiment\": \"neut");
+        assertThat(listener.sentiments).isEmpty();
+        assertThat(assembler.getSentiment()).isNull();
+    }
+
+    @Test
+    void fieldNamesWithoutAColonAreSkipped() {
+        RecordingListener listener = new RecordingListener();
+        StreamingSummaryAssembler assembler = new StreamingSummaryAssembler(listener);
+
+        assembler.append("The \"summary\" follows: {\"summary\"");
+        assembler.append(" : \"Flat\", \"sentiment\": 3, \"keyPoints\": [\"Only\", 4, \"ignored\"]}");
+
+        assertThat(listener.deltas).containsExactly("Flat");
+        assertThat(listener.keyPoints).containsExactly("Only");
+        assertThat(listener.sentiments).isEmpty();
+    }
+
+    @Test
+    void truncatedAnswerKeepsWhatWasFullyReceived() {
+        RecordingListener listener = new RecordingListener();
+        StreamingSummaryAssembler assembler = new StreamingSummaryAssembler(listener);
+
+        assembler.append("{\"summary\": \"Shares fell \\u00");
+
+        assertThat(assembler.getSummary()).isEqualTo("Shares fell ");
+        assertThat(assembler.getKeyPoints()).isEmpty();
+        assertThat(listener.tokens).containsExactly("{\"summary\": \"Shares fell \\u00");
+    }
+
+    private static final class RecordingListener implements SummaryStreamListener {
+        private final List<String> tokens = new ArrayList<>();
+        private final List<String> deltas = new ArrayList<>();
+        private final List<String> keyPoints = new ArrayList<>();
+        private final List<String> sentiments = new ArrayList<>();
+
+        @Override
+        public void onToken(String text) {
+            tokens.add(text);
+        }
+
+        @Override
+        public void onSummaryDelta(String text) {
+            deltas.add(text);
+        }
+
+        @Override
+        public void onKeyPoint(String keyPoint) {
+            keyPoints.add(keyPoint);
+        }
+
+        @Override
+        public void onSentiment(String sentiment) {
+            sentiments.add(sentiment);
+        }
+
+        @Override
+        public void onComplete(SummarizeResponseDto summary) {
+        }
+    }
+}
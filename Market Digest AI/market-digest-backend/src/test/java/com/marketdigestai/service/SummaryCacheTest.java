@@ -0,0 +1,142 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.SummaryCacheConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SummaryCacheTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void keyIgnoresArticleOrderAndCompanyCase() {
+        SummaryCache cache = cache(10, Duration.ofHours(1), null);
+        NewsArticleDto first = article("a", "2026-03-01T08:00:00Z");
+        NewsArticleDto second = article("b", "2026-03-01T09:00:00Z");
+
+        String key = cache.keyFor("Apple", List.of(first, second));
+
+        assertThat(key).hasSize(64).isEqualTo(cache.keyFor(" apple ", List.of(second, first)));
+        assertThat(cache.keyFor("Tesla", List.of(first, second))).isNotEqualTo(key);
+        assertThat(cache.keyFor("Apple", List.of(first))).isNotEqualTo(key);
+        assertThat(cache.keyFor("Apple", List.of(first, article("b", "2026-03-01T10:00:00Z")))).isNotEqualTo(key);
+    }
+
+    @Test
+    void keyDependsOnlyOnUrlAndPublishTime() {
+        SummaryCache cache = cache(10, Duration.ofHours(1), null);
+        NewsArticleDto original = article("a", "2026-03-01T08:00:00Z");
+        NewsArticleDto retitled = new NewsArticleDto("Other title", "Other description", original.getUrl(),
+                original.getPublishedAt(), "Bloomberg");
+
+        assertThat(cache.keyFor("Apple", List.of(retitled))).isEqualTo(cache.keyFor("Apple", List.of(original)));
+    }
+
+    @Test
+    void summariesSurviveARestart() {
+        SummaryCache previous = cache(10, Duration.ofHours(1), dir);
+        String key = previous.keyFor("Apple", List.of(article("a", "2026-03-01T08:00:00Z")));
+        previous.put(key, summary("Apple is up"));
+
+        SummaryCache restarted = cache(10, Duration.ofHours(1), dir);
+
+        assertThat(files()).containsExactly(key + ".json");
+        assertThat(restarted.get(key).getSummary()).isEqualTo("Apple is up");
+        assertThat(restarted.get(key).getKeyPoints()).containsExactly("point");
+    }
+
+    @Test
+    void startupDropsExpiredAndExcessFiles() throws Exception {
+        SummaryCache previous = cache(10, Duration.ofHours(1), dir);
+        previous.put("old", summary("old"));
+        previous.put("older", summary("older"));
+        previous.put("expired", summary("expired"));
+        Instant now = Instant.now();
+        Files.setLastModifiedTime(dir.resolve("old.json"), FileTime.from(now.minusSeconds(60)));
+        Files.setLastModifiedTime(dir.resolve("older.json"), FileTime.from(now.minusSeconds(120)));
+        Files.setLastModifiedTime(dir.resolve("expired.json"), FileTime.from(now.minus(Duration.ofHours(2))));
+
+        SummaryCache restarted = cache(1, Duration.ofHours(1), dir);
+
+        assertThat(files()).containsExactly("old.json");
+        assertThat(restarted.get("old")).isNotNull();
+        assertThat(restarted.get("older")).isNull();
+    }
+
+    @Test
+    void evictedSummariesLoseTheirFile() throws Exception {
+        SummaryCache cache = cache(2, Duration.ofHours(1), dir);
+        for (String key : List.of("apple", "tesla", "nvidia", "amazon")) {
+            cache.put(key, summary(key));
+        }
+
+        waitUntil(() -> files().size() == 2);
+        assertThat(files()).allSatisfy(file -> assertThat(cache.contains(file.replace(".json", ""))).isTrue());
+    }
+
+    @Test
+    void expiredSummaryReplacedUnderTheSameKeyKeepsItsFile() throws Exception {
+        SummaryCache cache = cache(10, Duration.ofMillis(500), dir);
+        cache.put("apple", summary("first"));
+        Thread.sleep(600);
+
+        cache.put("apple", summary("second"));
+        // Give a late delete of the expired entry's file the chance to happen, well before the new entry expires
+        Thread.sleep(50);
+        cache.get("apple");
+
+        assertThat(files()).containsExactly("apple.json");
+        assertThat(cache(10, Duration.ofHours(1), dir).get("apple").getSummary()).isEqualTo("second");
+    }
+
+    private static SummaryCache cache(long maxSize, Duration expireAfterWrite, Path persistDir) {
+        SummaryCacheConfig config = new SummaryCacheConfig();
+        ReflectionTestUtils.setField(config, "maxSize", maxSize);
+        ReflectionTestUtils.setField(config, "expireAfterWrite", expireAfterWrite);
+        ReflectionTestUtils.setField(config, "persistDir", persistDir != null ? persistDir.toString() : "");
+        SummaryCache cache = new SummaryCache(config, new SimpleMeterRegistry());
+        cache.loadFromDisk();
+        return cache;
+    }
+
+    private List<String> files() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static SummarizeResponseDto summary(String text) {
+        return new SummarizeResponseDto(text, List.of("point"), "neutral");
+    }
+
+    private static NewsArticleDto article(String slug, String publishedAt) {
+        return new NewsArticleDto(slug, "description", "https://news/" + slug, publishedAt, "Reuters");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.IncrementalSummaryConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.SummaryHistory.Mode;
+import com.marketdigestai.service.SummaryHistory.Plan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SummaryHistoryTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SummaryHistory history = new SummaryHistory(config(), meterRegistry);
+
+    @Test
+    void firstSummaryIsFull() {
+        Plan plan = history.plan("Apple", articles(0, 4), true);
+
+        assertThat(plan.mode()).isEqualTo(Mode.FULL);
+        assertThat(plan.articles()).hasSize(4);
+        assertThat(plan.previous()).isNull();
+    }
+
+    @Test
+    void sameArticlesReuseThePreviousSummary() {
+        SummarizeResponseDto summary = summarize("Apple", articles(0, 4));
+
+        List<NewsArticleDto> reordered = new ArrayList<>(articles(0, 4));
+        Collections.reverse(reordered);
+        Plan plan = history.plan(" apple ", reordered, true);
+
+        assertThat(plan.mode()).isEqualTo(Mode.REUSE);
+        assertThat(plan.previous().summary()).isSameAs(summary);
+    }
+
+    @Test
+    void subsetOfCoveredArticlesIsSummarizedAgain() {
+        summarize("Apple", articles(0, 4));
+
+        Plan plan = history.plan("Apple", articles(0, 2), true);
+
+        assertThat(plan.mode()).isEqualTo(Mode.FULL);
+        assertThat(plan.articles()).hasSize(2);
+    }
+
+    @Test
+    void fewNewArticlesUpdateThePreviousSummary() {
+        summarize("Apple", articles(0, 4));
+
+        Plan plan = history.plan("Apple", articles(1, 5), true);
+
+        assertThat(plan.mode()).isEqualTo(Mode.UPDATE);
+        assertThat(plan.articles()).extracting(NewsArticleDto::getUrl).containsExactly("https://news/4");
+    }
+
+    @Test
+    void mostlyNewArticlesGetAFullSummary() {
+        summarize("Apple", articles(0, 4));
+
+        // 3 of 4 articles are new, above max-new-ratio 0.5
+        assertThat(history.plan("Apple", articles(3, 7), true).mode()).isEqualTo(Mode.FULL);
+    }
+
+    @Test
+    void fullSummaryAfterMaxUpdates() {
+        summarize("Apple", articles(0, 4));
+        for (int i = 1; i <= 2; i++) {
+            Plan update = history.plan("Apple", articles(i, i + 4), true);
+            assertThat(update.mode()).isEqualTo(Mode.UPDATE);
+            history.record("Apple", articles(i, i + 4), summary("update " + i), update);
+        }
+
+        assertThat(history.plan("Apple", articles(3, 7), true).mode()).isEqualTo(Mode.FULL);
+    }
+
+    @Test
+    void nonIncrementalRequestsIgnoreHistory() {
+        summarize("Apple", articles(0, 4));
+
+        assertThat(history.plan("Apple", articles(0, 4), false).mode()).isEqualTo(Mode.FULL);
+        assertThat(meterRegistry.get("summaries.mode").tag("mode", "full").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void reusedPlansAreNotRecorded() {
+        summarize("Apple", articles(0, 4));
+        Plan reuse = history.plan("Apple", articles(0, 4), true);
+        history.record("Apple", articles(0, 4), summary("ignored"), reuse);
+
+        assertThat(history.plan("Apple", articles(0, 4), true).previous().summary().getSummary()).isEqualTo("full");
+    }
+
+    private SummarizeResponseDto summarize(String company, List<NewsArticleDto> articles) {
+        SummarizeResponseDto summary = summary("full");
+        history.record(company, articles, summary, history.plan(company, articles, false));
+        return summary;
+    }
+
+    private static SummarizeResponseDto summary(String text) {
+        return new SummarizeResponseDto(text, List.of(), "neutral");
+    }
+
+    private static List<NewsArticleDto> articles(int from, int to) {
+        return IntStream.range(from, to)
+                .mapToObj(i -> new NewsArticleDto("Title " + i, "Description " + i, "https://news/" + i,
+                        "2026-03-01T0" + i + ":00:00Z", "Reuters"))
+                .toList();
+    }
+
+    private static IncrementalSummaryConfig config() {
+        IncrementalSummaryConfig config = new IncrementalSummaryConfig();
+        ReflectionTestUtils.setField(config, "enabled", true);
+        ReflectionTestUtils.setField(config, "maxCompanies", 10L);
+        ReflectionTestUtils.setField(config, "expireAfterWrite", Duration.ofHours(1));
+        ReflectionTestUtils.setField(config, "maxUpdates", 2);
+        ReflectionTestUtils.setField(config, "maxNewRatio", 0.5);
+        return config;
+    }
+}
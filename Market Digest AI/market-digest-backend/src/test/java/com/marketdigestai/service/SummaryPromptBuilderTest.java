@@ -0,0 +1,126 @@
+package com.marketdigestai.service;
+
+import com.marketdigestai.config.NewsDedupConfig;
+import com.marketdigestai.config.PromptConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.SummaryPromptBuilder.SummaryPrompt;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SummaryPromptBuilderTest {
+
+    @Test
+    void syndicatedCopiesAreDropped() {
+        SummaryPrompt prompt = builder(3000, 400).build("Apple", List.of(
+                article("Apple beats estimates - Reuters", "2026-03-01T08:00:00Z", "Reuters"),
+                article("Apple Beats Estimates | CNBC", "2026-03-01T08:05:00Z", "CNBC"),
+                article("Apple names new CFO", "2026-03-01T07:00:00Z", "Bloomberg")));
+
+        assertThat(prompt.articlesIncluded()).isEqualTo(2);
+        assertThat(prompt.duplicatesDropped()).isEqualTo(1);
+        assertThat(prompt.droppedForBudget()).isZero();
+        assertThat(prompt.text()).contains("Title: Apple names new CFO")
+                .containsOnlyOnce("Title: Apple beats estimates - Reuters")
+                .doesNotContain("CNBC");
+    }
+
+    @Test
+    void articlesAreRankedNewestFirstWithPreferredSourcesBoosted() {
+        SummaryPrompt prompt = builder(3000, 400).build("Apple", List.of(
+                article("Undated rumor", null, "Blog"),
+                article("Older Reuters story", "2026-03-01T05:00:00Z", "Reuters"),
+                article("Newest blog post", "2026-03-01T09:00:00Z", "Blog"),
+                article("Older blog post", "2026-03-01T06:00:00Z", "Blog")));
+
+        // Reuters gets six hours on top of its publish time, so 05:00 ranks as 11:00
+        assertThat(titles(prompt)).containsExactly("Older Reuters story", "Newest blog post", "Older blog post",
+                "Undated rumor");
+    }
+
+    @Test
+    void articlesBeyondTheTokenBudgetAreLeftOut() {
+        List<NewsArticleDto> articles = List.of(
+                article("First story", "2026-03-01T09:00:00Z", "Blog"),
+                article("Second story", "2026-03-01T08:00:00Z", "Blog"),
+                article("Third story", "2026-03-01T07:00:00Z", "Blog"));
+        int header = SummaryPromptBuilder.estimateTokens("Summarize the following news articles about Apple:\n");
+        int entry = SummaryPromptBuilder.estimateTokens("Title: First story\nDescription: " + "x".repeat(40) + "\n");
+        int instructions = SummaryPromptBuilder.estimateTokens(SummaryPromptBuilder.SINGLE_INSTRUCTIONS);
+
+        SummaryPrompt prompt = builder(header + instructions + entry * 2 + 1, 400).build("Apple", articles);
+
+        assertThat(titles(prompt)).containsExactly("First story", "Second story");
+        assertThat(prompt.droppedForBudget()).isEqualTo(1);
+        assertThat(prompt.estimatedTokens()).isEqualTo(SummaryPromptBuilder.estimateTokens(prompt.text()));
+    }
+
+    @Test
+    void newestArticleIsKeptEvenOverBudget() {
+        SummaryPrompt prompt = builder(1, 400).build("Apple", List.of(
+                article("Only story", "2026-03-01T09:00:00Z", "Blog"),
+                article("Older story", "2026-03-01T08:00:00Z", "Blog")));
+
+        assertThat(titles(prompt)).containsExactly("Only story");
+        assertThat(prompt.droppedForBudget()).isEqualTo(1);
+    }
+
+    @Test
+    void longDescriptionsAreCutAtAWordBoundary() {
+        NewsArticleDto article = new NewsArticleDto("Long story", "Shares rose sharply after the earnings call today",
+                "https://news/long", "2026-03-01T09:00:00Z", "Blog");
+
+        SummaryPrompt prompt = builder(3000, 20).build("Apple", List.of(article));
+
+        assertThat(prompt.text()).contains("Description: Shares rose sharply...\n");
+    }
+
+    @Test
+    void tokensAreEstimatedAtFourCharactersEach() {
+        assertThat(SummaryPromptBuilder.estimateTokens("")).isZero();
+        assertThat(SummaryPromptBuilder.estimateTokens("abcd")).isEqualTo(1);
+        assertThat(SummaryPromptBuilder.estimateTokens("abcde")).isEqualTo(2);
+    }
+
+    @Test
+    void updatePromptCarriesThePreviousSummary() {
+        SummarizeResponseDto previous = new SummarizeResponseDto("Apple rallied.", List.of("Beat"), "positive");
+
+        SummaryPrompt prompt = builder(3000, 400).buildUpdate("Apple", previous,
+                List.of(article("Apple names new CFO", "2026-03-01T07:00:00Z", "Bloomberg")));
+
+        assertThat(prompt.text())
+                .startsWith("Current summary of news about Apple:\nApple rallied.\nKey points:\n- Beat\nSentiment: positive\n")
+                .contains("New articles about Apple published since that summary:\nTitle: Apple names new CFO\n")
+                .endsWith(SummaryPromptBuilder.UPDATE_INSTRUCTIONS);
+        assertThat(prompt.articlesIncluded()).isEqualTo(1);
+    }
+
+    private static List<String> titles(SummaryPrompt prompt) {
+        return prompt.text().lines()
+                .filter(line -> line.startsWith("Title: "))
+                .map(line -> line.substring("Title: ".length()))
+                .toList();
+    }
+
+    private static NewsArticleDto article(String title, String publishedAt, String source) {
+        return new NewsArticleDto(title, "x".repeat(40), "https://news/" + title.hashCode(), publishedAt, source);
+    }
+
+    private static SummaryPromptBuilder builder(int maxTokens, int maxDescriptionChars) {
+        PromptConfig promptConfig = new PromptConfig();
+        ReflectionTestUtils.setField(promptConfig, "maxTokens", maxTokens);
+        ReflectionTestUtils.setField(promptConfig, "maxDescriptionChars", maxDescriptionChars);
+        ReflectionTestUtils.setField(promptConfig, "preferredSources", List.of("Reuters", " Bloomberg"));
+        ReflectionTestUtils.setField(promptConfig, "preferredSourceBoost", Duration.ofHours(6));
+        NewsDedupConfig dedupConfig = new NewsDedupConfig();
+        ReflectionTestUtils.setField(dedupConfig, "enabled", true);
+        ReflectionTestUtils.setField(dedupConfig, "maxHammingDistance", 12);
+        return new SummaryPromptBuilder(promptConfig, new NearDuplicateDetector(dedupConfig));
+    }
+}
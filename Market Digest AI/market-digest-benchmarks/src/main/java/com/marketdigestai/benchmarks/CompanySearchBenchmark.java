@@ -0,0 +1,84 @@
+package com.marketdigestai.benchmarks;
+
+import com.marketdigestai.config.CompanyDirectoryConfig;
+import com.marketdigestai.service.CompanyDirectory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /api/companies} lookups against the bundled universe and a synthetic one of 50,000 companies.
+ * {@code linearScan} is the lowercase-and-contains filter the index replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompanySearchBenchmark {
+    private static final String[] WORDS = {"global", "holdings", "tech", "bio", "energy", "capital", "systems",
+            "group", "pharma", "motors", "first", "united", "north", "pacific", "micro", "data"};
+
+    @Param({"0", "50000"})
+    public int syntheticCompanies;
+
+    @Param({"a", "app", "tech", "of am"})
+    public String query;
+
+    private CompanyDirectory directory;
+    private List<String> names;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The bundled universe first, so featured companies and their ranking stay as in production
+        StringBuilder csv = new StringBuilder(new String(Fixtures.bytes("companies.csv"), StandardCharsets.UTF_8));
+        Random random = new Random(42);
+        for (int i = 0; i < syntheticCompanies; i++) {
+            String id = Integer.toString(i, 36);
+            csv.append(WORDS[random.nextInt(WORDS.length)]).append(' ').append(WORDS[random.nextInt(WORDS.length)])
+                    .append(' ').append(id).append(",X").append(id.toUpperCase(Locale.ROOT)).append(",,false\n");
+        }
+        Path universe = Files.createTempFile("companies", ".csv");
+        universe.toFile().deleteOnExit();
+        Files.writeString(universe, csv);
+        directory = new CompanyDirectory(Fixtures.configure(new CompanyDirectoryConfig(), Map.of(
+                "universe", new FileSystemResource(universe),
+                "defaultLimit", 20,
+                "maxLimit", 100)));
+        names = csv.toString().lines().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList();
+    }
+
+    @Benchmark
+    public List<String> index() {
+        return directory.search(query, 20);
+    }
+
+    @Benchmark
+    public List<String> linearScan() {
+        String searchLower = query.toLowerCase(Locale.ROOT);
+        return names.stream()
+                .filter(name -> name.toLowerCase(Locale.ROOT).contains(searchLower))
+                .limit(20)
+                .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.marketdigestai.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files ({@code -rf json}) benchmark by benchmark.
+ *
+ * <p>
+ * Usage: {@code java -cp target/benchmarks.jar com.marketdigestai.benchmarks.CompareResults baseline.json
+ * candidate.json [threshold-percent]}. Prints the change of every score present in both files and exits
+ * with status 1 when any benchmark got slower (or, for throughput modes, lower) by more than the threshold
+ * (default 10%) beyond the combined error margins, so it can gate a build.
+ * </p>
+ */
+public final class CompareResults {
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Candidate", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = score(before);
+            double newScore = score(after);
+            double change = (newScore - oldScore) / oldScore * 100.0;
+            // Average/sample time: higher is worse. Throughput: lower is worse.
+            boolean higherIsWorse = !"thrpt".equals(after.path("mode").asText());
+            double worsening = higherIsWorse ? newScore - oldScore : oldScore - newScore;
+            boolean regressed = worsening > Math.abs(oldScore) * threshold / 100.0 + error(before) + error(after);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %s%s%n", entry.getKey(), oldScore, newScore, change,
+                    after.path("primaryMetric").path("scoreUnit").asText(), regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Results keyed by benchmark name plus its parameters, so parameterized runs are compared pairwise.
+     */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.marketdigestai.benchmarks.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double error(JsonNode result) {
+        double error = result.path("primaryMetric").path("scoreError").asDouble(0.0);
+        return Double.isNaN(error) ? 0.0 : error;
+    }
+}
@@ -0,0 +1,78 @@
+package com.marketdigestai.benchmarks;
+
+import com.marketdigestai.config.NewsDedupConfig;
+import com.marketdigestai.config.PromptConfig;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.service.NearDuplicateDetector;
+import com.marketdigestai.service.NewsApiResponseParser;
+import com.marketdigestai.service.SummaryPromptBuilder;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recorded-shape upstream payloads and backend components wired the way the application wires them.
+ *
+ * <p>
+ * Configuration classes are filled through their {@code @Value} fields with the defaults from
+ * {@code application.properties}, so no Spring context is started inside a benchmark.
+ * </p>
+ */
+final class Fixtures {
+    static final String NEWSAPI_EVERYTHING = "fixtures/newsapi-everything.json";
+    static final String GEMINI_GENERATE_CONTENT = "fixtures/gemini-generate-content.json";
+
+    private Fixtures() {
+    }
+
+    static byte[] bytes(String resource) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The first {@code count} articles of the recorded NewsAPI response (100 articles, some syndicated copies).
+     */
+    static List<NewsArticleDto> articles(int count) {
+        try {
+            List<NewsArticleDto> all = new NewsApiResponseParser().parse(new ByteArrayInputStream(bytes(NEWSAPI_EVERYTHING)));
+            return List.copyOf(all.subList(0, Math.min(count, all.size())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static NearDuplicateDetector nearDuplicateDetector() {
+        return new NearDuplicateDetector(configure(new NewsDedupConfig(), Map.of(
+                "enabled", true,
+                "maxHammingDistance", 12)));
+    }
+
+    static SummaryPromptBuilder promptBuilder() {
+        PromptConfig promptConfig = configure(new PromptConfig(), Map.of(
+                "maxTokens", 3000,
+                "maxDescriptionChars", 400,
+                "preferredSources", List.of("Reuters", "Bloomberg", "Associated Press", "Financial Times",
+                        "The Wall Street Journal", "CNBC"),
+                "preferredSourceBoost", Duration.ofHours(6)));
+        return new SummaryPromptBuilder(promptConfig, nearDuplicateDetector());
+    }
+
+    static <T> T configure(T config, Map<String, Object> fields) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(config);
+        fields.forEach(accessor::setPropertyValue);
+        return config;
+    }
+}
@@ -0,0 +1,71 @@
+package com.marketdigestai.benchmarks;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.dto.gemini.GeminiRequest;
+import com.marketdigestai.dto.gemini.GeminiResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gemini request encoding and response decoding, with the object mapper configured as in
+ * {@code GeminiApiService}: envelope, first candidate text, then the fenced JSON summary inside it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeminiResponseBenchmark {
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .configure(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY, true);
+    private final ObjectReader envelopeReader = objectMapper.readerFor(GeminiResponse.class);
+    private final ObjectReader summaryReader = objectMapper.readerFor(SummarizeResponseDto.class);
+    private byte[] body;
+    private String prompt;
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.bytes(Fixtures.GEMINI_GENERATE_CONTENT);
+        prompt = Fixtures.promptBuilder().build("Apple", Fixtures.articles(100)).text();
+    }
+
+    @Benchmark
+    public byte[] encodeRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(GeminiRequest.ofPrompt(prompt));
+    }
+
+    @Benchmark
+    public SummarizeResponseDto decodeResponse() throws IOException {
+        GeminiResponse response = envelopeReader.readValue(body);
+        return summaryReader.readValue(stripCodeFence(response.firstCandidateText()));
+    }
+
+    // Same fence handling as GeminiApiService
+    private static String stripCodeFence(String content) {
+        String trimmed = content.trim();
+        if (trimmed.startsWith("```")) {
+            int firstNewline = trimmed.indexOf('\n');
+            int closingFence = trimmed.lastIndexOf("```");
+            if (firstNewline > 0 && closingFence > firstNewline) {
+                return trimmed.substring(firstNewline + 1, closingFence);
+            }
+        }
+        return trimmed;
+    }
+}
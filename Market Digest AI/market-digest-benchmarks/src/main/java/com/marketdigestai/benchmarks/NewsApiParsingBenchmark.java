@@ -0,0 +1,68 @@
+package com.marketdigestai.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.service.NearDuplicateDetector;
+import com.marketdigestai.service.NewsApiResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a NewsAPI {@code /v2/everything} response into the articles {@code NewsApiService} caches.
+ * {@code jacksonTree} is the tree-model mapping the streaming parser replaced, kept as a reference point.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NewsApiParsingBenchmark {
+    private final NewsApiResponseParser parser = new NewsApiResponseParser();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private NearDuplicateDetector nearDuplicateDetector;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.bytes(Fixtures.NEWSAPI_EVERYTHING);
+        nearDuplicateDetector = Fixtures.nearDuplicateDetector();
+    }
+
+    @Benchmark
+    public List<NewsArticleDto> streamingParser() throws IOException {
+        return parser.parse(new ByteArrayInputStream(body));
+    }
+
+    @Benchmark
+    public List<NewsArticleDto> streamingParserAndCollapse() throws IOException {
+        return nearDuplicateDetector.collapse(parser.parse(new ByteArrayInputStream(body)));
+    }
+
+    @Benchmark
+    public List<NewsArticleDto> jacksonTree() throws IOException {
+        JsonNode root = objectMapper.readTree(body);
+        List<NewsArticleDto> articles = new ArrayList<>();
+        for (JsonNode node : root.path("articles")) {
+            articles.add(new NewsArticleDto(node.path("title").asText(null), node.path("description").asText(null),
+                    node.path("url").asText(null), node.path("publishedAt").asText(null),
+                    node.path("source").path("name").asText(null)));
+        }
+        return articles;
+    }
+}
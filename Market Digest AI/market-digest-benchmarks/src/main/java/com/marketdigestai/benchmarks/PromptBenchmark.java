@@ -0,0 +1,65 @@
+package com.marketdigestai.benchmarks;
+
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import com.marketdigestai.service.SummaryPromptBuilder;
+import com.marketdigestai.service.SummaryPromptBuilder.SummaryPrompt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prompt assembly in {@code GeminiApiService}: compaction (near-duplicate collapse, title de-duplication,
+ * ranking, truncation, token budget) plus building the prompt text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptBenchmark {
+    @Param({"10", "100"})
+    public int articleCount;
+
+    private SummaryPromptBuilder promptBuilder;
+    private List<NewsArticleDto> articles;
+    private List<NewsArticleDto> newArticles;
+    private SummarizeResponseDto previousSummary;
+
+    @Setup
+    public void setUp() {
+        promptBuilder = Fixtures.promptBuilder();
+        articles = Fixtures.articles(articleCount);
+        newArticles = articles.subList(0, Math.max(1, articleCount / 10));
+        previousSummary = new SummarizeResponseDto(
+                "Apple reported results broadly in line with expectations, with services offsetting softer hardware demand.",
+                List.of("Record services revenue", "iPhone sales in China declined", "Buyback expanded"), "Neutral");
+    }
+
+    @Benchmark
+    public SummaryPrompt singleCompany() {
+        return promptBuilder.build("Apple", articles);
+    }
+
+    @Benchmark
+    public SummaryPrompt batchSection() {
+        return promptBuilder.batchSection("Apple", articles);
+    }
+
+    @Benchmark
+    public SummaryPrompt incrementalUpdate() {
+        return promptBuilder.buildUpdate("Apple", previousSummary, newArticles);
+    }
+}
@@ -0,0 +1,96 @@
+package com.marketdigestai.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.marketdigestai.config.WebConfig;
+import com.marketdigestai.dto.CompanyDigestDto;
+import com.marketdigestai.dto.CompanyNewsResultDto;
+import com.marketdigestai.dto.NewsArticleDto;
+import com.marketdigestai.dto.SummarizeResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response bodies of a ten-company dashboard load, written with the object mappers Spring MVC uses for JSON,
+ * Smile (with shared string values, as configured in {@link WebConfig}) and CBOR, and as gzip-compressed JSON
+ * to show what {@code server.compression} costs per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final int COMPANIES = 10;
+    private static final int ARTICLES_PER_COMPANY = 10;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smileMapper = new WebConfig().smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+            .getObjectMapper();
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+    private Map<String, List<NewsArticleDto>> news;
+    private List<CompanyDigestDto> digests;
+
+    @Setup
+    public void setUp() {
+        List<NewsArticleDto> articles = Fixtures.articles(COMPANIES * ARTICLES_PER_COMPANY);
+        SummarizeResponseDto summary = new SummarizeResponseDto(
+                "Apple reported results broadly in line with expectations. ".repeat(12),
+                List.of("Record services revenue", "iPhone sales in China declined", "Buyback expanded",
+                        "Guidance for low single-digit growth", "EU App Store changes pending"), "Neutral");
+        news = new LinkedHashMap<>();
+        digests = new ArrayList<>();
+        for (int i = 0; i < COMPANIES; i++) {
+            List<NewsArticleDto> slice = articles.subList(i * ARTICLES_PER_COMPANY, (i + 1) * ARTICLES_PER_COMPANY);
+            news.put("Company " + i, slice);
+            digests.add(new CompanyDigestDto("Company " + i, CompanyNewsResultDto.Status.OK, slice, summary, 900, null));
+        }
+    }
+
+    @Benchmark
+    public byte[] newsResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(news);
+    }
+
+    @Benchmark
+    public byte[] digestResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(digests);
+    }
+
+    @Benchmark
+    public byte[] newsResponseSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(news);
+    }
+
+    @Benchmark
+    public byte[] newsResponseCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(news);
+    }
+
+    @Benchmark
+    public byte[] newsResponseGzip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(gzip, news);
+        }
+        return bytes.toByteArray();
+    }
+}
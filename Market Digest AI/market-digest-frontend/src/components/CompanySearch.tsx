@@ -13,6 +13,8 @@ interface CompanySearchProps {
   value: string[];
   onChange: (value: string[]) => void;
   loading?: boolean;
+  // Called with the typed text; options are then expected to be the server's matches and are not filtered again
+  onSearchChange?: (search: string) => void;
 }
 
 /**
@@ -86,16 +88,21 @@ const getInitials = (name: string): string => {
   return (words[0][0] + words[1][0]).toUpperCase();
 };
 
-const CompanySearch: React.FC<CompanySearchProps> = ({ companies, value, onChange, loading }) => {
+const CompanySearch: React.FC<CompanySearchProps> = ({ companies, value, onChange, loading, onSearchChange }) => {
   const theme = useTheme();
   const isDark = theme.palette.mode === 'dark';
 
   return (
     <Autocomplete
       multiple
-      options={companies}
+      // Keep selected companies among the options even when the current search no longer returns them
+      options={Array.from(new Set([...value, ...companies]))}
       value={value}
       onChange={(_, newValue) => onChange(newValue)}
+      onInputChange={(_, text, reason) => {
+        if (reason !== 'reset') onSearchChange?.(text);
+      }}
+      filterOptions={onSearchChange ? (options) => options.filter(o => !value.includes(o)) : undefined}
       disableCloseOnSelect
       fullWidth
       renderInput={(params) => (
@@ -5,12 +5,16 @@ import Chip from '@mui/material/Chip';
 import Stack from '@mui/material/Stack';
 import CompanySearch from '../components/CompanySearch';
 import CompanyCard from '../components/CompanyCard';
-import type { NewsArticle, SummarizeResponse } from '../services/api';
-import { fetchCompanies, fetchNews, fetchSummary } from '../services/api';
+import type { CompanyDigest, NewsArticle, SummarizeResponse } from '../services/api';
+import { fetchCompanies, fetchDigest, streamDigest } from '../services/api';
+
+// Polls are cheap while nothing changed: the backend answers them with 304 Not Modified
+const POLL_INTERVAL_MS = 60_000;
 
 const Dashboard: React.FC = () => {
   const [companies, setCompanies] = useState<string[]>([]);
   const [loadingCompanies, setLoadingCompanies] = useState(true);
+  const [companySearch, setCompanySearch] = useState('');
   const [selectedCompanies, setSelectedCompanies] = useState<string[]>(() => {
     try { return JSON.parse(localStorage.getItem('md:selectedCompanies') || '[]'); } catch { return []; }
   });
@@ -31,67 +35,88 @@ const Dashboard: React.FC = () => {
     localStorage.setItem('md:showSummaries', String(showSummaries));
   }, [showSummaries]);
 
-  // Effect 1: Fetch the list of all available companies on initial load
+  // Effect 1: Typeahead - featured companies on load, then the backend's matches for what is typed
   useEffect(() => {
-    setLoadingCompanies(true);
-    fetchCompanies()
-      .then(setCompanies)
-      .catch(() => setCompanies([]))
-      .finally(() => setLoadingCompanies(false));
-  }, []);
+    const controller = new AbortController();
+    const timer = setTimeout(() => {
+      setLoadingCompanies(true);
+      fetchCompanies(companySearch, controller.signal)
+        .then(setCompanies)
+        .catch(() => {
+          if (!controller.signal.aborted) setCompanies([]);
+        })
+        .finally(() => {
+          if (!controller.signal.aborted) setLoadingCompanies(false);
+        });
+    }, companySearch ? 150 : 0);
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [companySearch]);
 
-  // Effect 2: Fetch news whenever the list of selected companies changes
+  // Effect 2: Stream news and summary per company whenever the selection changes
   useEffect(() => {
     if (selectedCompanies.length === 0) {
       setNews({});
       setSummaries({});
+      setLoadingSummaries({});
       return;
     }
 
-    setLoadingNews(true);
+    const controller = new AbortController();
+    let pollTimer: ReturnType<typeof setInterval> | undefined;
+    let lastEtag: string | null = null;
+    const pending: Record<string, boolean> = {};
+    selectedCompanies.forEach(company => {
+      pending[company] = true;
+    });
+    setNews({});
     setSummaries({}); // Clear old summaries immediately
+    setLoadingSummaries(pending);
+    setLoadingNews(true);
 
-    fetchNews(selectedCompanies)
-      .then(setNews) // This will trigger the next useEffect
-      .catch(() => setNews({}))
-      .finally(() => setLoadingNews(false));
-  }, [selectedCompanies]);
-
-  // Effect 3: Fetch summaries whenever the news data changes
-  useEffect(() => {
-    if (Object.keys(news).length === 0) {
-      return;
-    }
+    const applyDigest = (digest: CompanyDigest) => {
+      setNews(prev => ({ ...prev, [digest.company]: digest.articles }));
+      const summary = digest.summary;
+      if (summary) {
+        setSummaries(prev => ({ ...prev, [digest.company]: summary }));
+      }
+    };
 
-    const initialLoadingState: Record<string, boolean> = {};
-    Object.keys(news).forEach(company => {
-      initialLoadingState[company] = true;
-    });
-    setLoadingSummaries(initialLoadingState);
+    const poll = () => {
+      fetchDigest(selectedCompanies, controller.signal)
+        .then(({ etag, digests }) => {
+          if (etag && etag === lastEtag) return; // 304: nothing new since the last poll
+          lastEtag = etag;
+          digests.forEach(applyDigest);
+        })
+        .catch(err => {
+          if (!controller.signal.aborted) console.error('Failed to poll digest:', err);
+        });
+    };
 
-    const summaryPromises = Object.entries(news).map(([company, articles]) =>
-      fetchSummary(company, articles).catch(err => {
-        console.error(`Failed to fetch summary for ${company}:`, err);
-        return null;
+    streamDigest(selectedCompanies, digest => {
+      setLoadingNews(false); // Render cards as soon as the first company is ready
+      applyDigest(digest);
+      setLoadingSummaries(prev => ({ ...prev, [digest.company]: false }));
+    }, controller.signal)
+      .catch(err => {
+        if (controller.signal.aborted) return;
+        console.error('Failed to fetch digest:', err);
       })
-    );
-
-    Promise.all(summaryPromises).then(summaryResults => {
-      const finalSummaries: Record<string, SummarizeResponse> = {};
-      const finalLoadingState: Record<string, boolean> = {};
-
-      Object.keys(news).forEach((company, index) => {
-        const summary = summaryResults[index];
-        if (summary) {
-          finalSummaries[company] = summary;
-        }
-        finalLoadingState[company] = false;
+      .finally(() => {
+        if (controller.signal.aborted) return;
+        setLoadingNews(false);
+        setLoadingSummaries({});
+        pollTimer = setInterval(poll, POLL_INTERVAL_MS);
       });
 
-      setSummaries(finalSummaries);
-      setLoadingSummaries(finalLoadingState);
-    });
-  }, [news]);
+    return () => {
+      clearInterval(pollTimer);
+      controller.abort();
+    };
+  }, [selectedCompanies]);
 
   return (
     <Box>
@@ -103,6 +128,7 @@ const Dashboard: React.FC = () => {
             value={selectedCompanies}
             onChange={setSelectedCompanies}
             loading={loadingCompanies}
+            onSearchChange={setCompanySearch}
           />
           <Stack direction="row" spacing={1} alignItems="center" sx={{ ml: { sm: 'auto' } }}>
             <Chip
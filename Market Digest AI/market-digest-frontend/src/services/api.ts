@@ -16,28 +16,66 @@ export interface SummarizeResponse {
 // In production, use the full URL of the deployed Koyeb backend, passed in via an environment variable.
 const API_BASE = import.meta.env.VITE_KOYEB_BACKEND_URL || 'http://localhost:8080/api';
 
-export async function fetchCompanies(search = ''): Promise<string[]> {
-  const res = await fetch(`${API_BASE}/companies?search=${encodeURIComponent(search)}`);
+export async function fetchCompanies(search = '', signal?: AbortSignal): Promise<string[]> {
+  const res = await fetch(`${API_BASE}/companies?search=${encodeURIComponent(search)}`, { signal });
   if (!res.ok) throw new Error('Failed to fetch companies');
   return res.json();
 }
 
-export async function fetchNews(companies: string[]): Promise<Record<string, NewsArticle[]>> {
-  const res = await fetch(`${API_BASE}/news`, {
+export interface CompanyDigest {
+  company: string;
+  status: 'OK' | 'TIMED_OUT' | 'FAILED';
+  articles: NewsArticle[];
+  summary: SummarizeResponse | null;
+  elapsedMs: number;
+  error: string | null;
+}
+
+// Streams one digest per company as the backend finishes it (NDJSON, completion order).
+export async function streamDigest(
+  companies: string[],
+  onDigest: (digest: CompanyDigest) => void,
+  signal?: AbortSignal,
+): Promise<void> {
+  const res = await fetch(`${API_BASE}/digest`, {
     method: 'POST',
-    headers: { 'Content-Type': 'application/json' },
+    headers: { 'Content-Type': 'application/json', Accept: 'application/x-ndjson' },
     body: JSON.stringify({ companies }),
+    signal,
   });
-  if (!res.ok) throw new Error('Failed to fetch news');
-  return res.json();
+  if (!res.ok || !res.body) throw new Error('Failed to fetch digest');
+
+  const reader = res.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  for (;;) {
+    const { done, value } = await reader.read();
+    if (done) break;
+    buffer += decoder.decode(value, { stream: true });
+    let newline;
+    while ((newline = buffer.indexOf('\n')) >= 0) {
+      const line = buffer.slice(0, newline).trim();
+      buffer = buffer.slice(newline + 1);
+      if (line) onDigest(JSON.parse(line));
+    }
+  }
+  if (buffer.trim()) onDigest(JSON.parse(buffer));
 }
 
-export async function fetchSummary(company: string, articles: NewsArticle[]): Promise<SummarizeResponse> {
-  const res = await fetch(`${API_BASE}/summarize`, {
-    method: 'POST',
-    headers: { 'Content-Type': 'application/json' },
-    body: JSON.stringify({ company, articles }),
+export interface DigestSnapshot {
+  etag: string | null;
+  digests: CompanyDigest[];
+}
+
+// Polling variant of streamDigest. 'no-cache' makes the browser revalidate its copy with If-None-Match;
+// a 304 comes back here as the cached 200, so callers compare ETags to see whether anything changed.
+export async function fetchDigest(companies: string[], signal?: AbortSignal): Promise<DigestSnapshot> {
+  const query = companies.map(company => `company=${encodeURIComponent(company)}`).join('&');
+  const res = await fetch(`${API_BASE}/digest?${query}`, {
+    headers: { Accept: 'application/json' },
+    cache: 'no-cache',
+    signal,
   });
-  if (!res.ok) throw new Error('Failed to fetch summary');
-  return res.json();
+  if (!res.ok) throw new Error('Failed to fetch digest');
+  return { etag: res.headers.get('ETag'), digests: await res.json() };
 }
@@ -0,0 +1,321 @@
+package com.marketdigestai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives {@code POST /api/news}, {@code POST /api/summarize} and {@code GET /api/companies} of a running
+ * backend and reports throughput and latency percentiles per endpoint.
+ *
+ * <p>
+ * By default {@code concurrency} workers each send the next request as soon as the previous one answers
+ * (closed loop), which finds the throughput an instance saturates at. With {@code --rate} requests are
+ * instead started on a fixed schedule and latency is measured from the scheduled start, so time spent
+ * queued behind a slow backend counts against it rather than silently lowering the offered load.
+ * Requests completing during {@code --warmup} are not recorded.
+ * </p>
+ *
+ * <pre>
+ * java -jar loadtest.jar --target=http://localhost:8080 --concurrency=32 --duration=60s \
+ *     --mix=news:2,summarize:1,companies:6 --companies=50
+ * </pre>
+ */
+public final class LoadGenerator {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    enum Endpoint {
+        NEWS("POST /api/news"),
+        SUMMARIZE("POST /api/summarize"),
+        COMPANIES("GET /api/companies");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    private final HttpClient client;
+    private final String target;
+    private final Duration timeout;
+    private final Map<Endpoint, Integer> mix;
+    private final int totalWeight;
+    private final List<String> companies;
+    private final int newsBatch;
+    private final int articles;
+    private final boolean coldSummaries;
+    private final AtomicLong requestSequence = new AtomicLong();
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+
+    private LoadGenerator(Options options, HttpClient client, List<String> companies) {
+        this.client = client;
+        this.target = options.string("target", "http://localhost:8080");
+        this.timeout = options.duration("timeout", Duration.ofSeconds(30));
+        this.mix = parseMix(options.string("mix", "news:1,summarize:1,companies:4"));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.companies = companies;
+        this.newsBatch = options.integer("news-batch", 3);
+        this.articles = options.integer("articles", 10);
+        this.coldSummaries = options.flag("cold-summaries", false);
+        mix.keySet().forEach(endpoint -> stats.put(endpoint, new Stats()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        String target = options.string("target", "http://localhost:8080");
+        int concurrency = options.integer("concurrency", 16);
+        double rate = options.decimal("rate", 0);
+        Duration warmup = options.duration("warmup", Duration.ofSeconds(10));
+        Duration duration = options.duration("duration", Duration.ofSeconds(60));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        List<String> companies = discoverCompanies(client, target, options.integer("companies", 50));
+        LoadGenerator generator = new LoadGenerator(options, client, companies);
+
+        System.out.printf(Locale.ROOT, "Target %s, %d companies, %s, warmup %ds, measuring %ds%n", target,
+                companies.size(), rate > 0 ? String.format(Locale.ROOT, "%.1f req/s over up to %d connections", rate, concurrency)
+                        : concurrency + " closed-loop workers", warmup.toSeconds(), duration.toSeconds());
+        generator.run(concurrency, rate, warmup, duration);
+        generator.report(duration);
+    }
+
+    private void run(int concurrency, double rate, Duration warmup, Duration duration) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        AtomicLong tickets = new AtomicLong();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                while (true) {
+                    long scheduled = System.nanoTime();
+                    if (rate > 0) {
+                        scheduled = start + Math.round(tickets.getAndIncrement() * 1e9 / rate);
+                        long wait = scheduled - System.nanoTime();
+                        if (wait > 0) {
+                            sleepNanos(wait);
+                        }
+                    }
+                    if (scheduled >= end) {
+                        return;
+                    }
+                    Endpoint endpoint = pick();
+                    String outcome = send(endpoint);
+                    long finished = System.nanoTime();
+                    if (scheduled >= measureFrom && finished <= end) {
+                        stats.get(endpoint).record(outcome, finished - scheduled);
+                    }
+                }
+            }, "load-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    /**
+     * @return {@code null} for a 2xx answer, otherwise the status code or exception that failed the request
+     */
+    private String send(Endpoint endpoint) {
+        try {
+            HttpResponse<Void> response = client.send(request(endpoint), HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode();
+        } catch (IOException e) {
+            return e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case NEWS -> {
+                ObjectNode body = MAPPER.createObjectNode();
+                ArrayNode list = body.putArray("companies");
+                for (int i = 0; i < newsBatch; i++) {
+                    list.add(companies.get(random.nextInt(companies.size())));
+                }
+                yield post("/api/news", body);
+            }
+            case SUMMARIZE -> {
+                String company = companies.get(random.nextInt(companies.size()));
+                ObjectNode body = MAPPER.createObjectNode().put("company", company);
+                // Cold requests carry unseen article URLs, so neither the summary cache nor an incremental update applies
+                String variant = coldSummaries ? "?r=" + requestSequence.incrementAndGet() : "";
+                if (coldSummaries) {
+                    body.put("incremental", false);
+                }
+                body.set("articles", articles(company, variant));
+                yield post("/api/summarize", body);
+            }
+            case COMPANIES -> {
+                String company = companies.get(random.nextInt(companies.size()));
+                String prefix = company.substring(0, Math.min(company.length(), 1 + random.nextInt(4)));
+                yield HttpRequest.newBuilder(URI.create(target + "/api/companies?search="
+                                + URLEncoder.encode(prefix, StandardCharsets.UTF_8)))
+                        .timeout(timeout)
+                        .GET()
+                        .build();
+            }
+        };
+    }
+
+    private ArrayNode articles(String company, String variant) {
+        ArrayNode list = MAPPER.createArrayNode();
+        String slug = company.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        Instant now = Instant.now().truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < articles; i++) {
+            ObjectNode article = list.addObject();
+            article.putObject("source").put("name", i % 2 == 0 ? "Reuters" : "Bloomberg");
+            article.put("title", company + " update " + i)
+                    .put("description", company + " reported developments in story " + i + " that analysts are watching.")
+                    .put("url", "https://news.stub.example/" + slug + "/" + i + variant)
+                    .put("publishedAt", now.minus(Duration.ofMinutes(23L * i)).toString());
+        }
+        return list;
+    }
+
+    private HttpRequest post(String path, ObjectNode body) throws IOException {
+        return HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private Endpoint pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void report(Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        System.out.printf(Locale.ROOT, "%n%-22s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long totalOk = 0;
+        long totalErrors = 0;
+        for (Map.Entry<Endpoint, Stats> entry : stats.entrySet()) {
+            Histogram latencies = entry.getValue().latencies;
+            long ok = latencies.getTotalCount();
+            long errors = entry.getValue().errorCount();
+            totalOk += ok;
+            totalErrors += errors;
+            System.out.printf(Locale.ROOT, "%-22s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey().label,
+                    ok + errors, errors, ok / seconds, millis(latencies, 50), millis(latencies, 95),
+                    millis(latencies, 99), latencies.getMaxValue() / 1000.0);
+        }
+        System.out.printf(Locale.ROOT, "%-22s %9d %8d %9.1f%n", "total", totalOk + totalErrors, totalErrors, totalOk / seconds);
+        stats.forEach((endpoint, endpointStats) -> endpointStats.errors.forEach((reason, count) ->
+                System.out.printf(Locale.ROOT, "  %s failed with %s: %d%n", endpoint.label, reason, count.sum())));
+        System.out.println("Latencies are of successful requests; req/s counts successful requests only.");
+    }
+
+    private static double millis(Histogram latencies, double percentile) {
+        return latencies.getTotalCount() == 0 ? 0 : latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Collects company names from the backend's own typeahead, so the load matches its company universe.
+     */
+    private static List<String> discoverCompanies(HttpClient client, String target, int limit) throws Exception {
+        Set<String> names = new LinkedHashSet<>();
+        for (char letter = 'a'; letter <= 'z' && names.size() < limit; letter++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(target + "/api/companies?limit=100&search=" + letter))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("GET /api/companies answered " + response.statusCode());
+            }
+            for (String name : MAPPER.readValue(response.body(), String[].class)) {
+                names.add(name);
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalStateException("The backend at " + target + " returned no companies");
+        }
+        return List.copyOf(names).subList(0, Math.min(limit, names.size()));
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new TreeMap<>();
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            int weight = nameAndWeight.length > 1 ? Integer.parseInt(nameAndWeight[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(nameAndWeight[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("--mix selects no endpoint: " + mix);
+        }
+        return weights;
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Stats {
+        // Microseconds, three significant digits; resized automatically for slow outliers
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void record(String failure, long nanos) {
+            if (failure == null) {
+                latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(nanos));
+            } else {
+                errors.computeIfAbsent(failure, reason -> new LongAdder()).increment();
+            }
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.marketdigestai.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Fails when a JFR recording of the backend holds {@code jdk.VirtualThreadPinned} events, i.e. a virtual thread
+ * blocked while pinned to its carrier (inside {@code synchronized} or a native frame) for longer than the
+ * recording's threshold. Pinned events are grouped by stack so that each offending call site is printed once.
+ *
+ * <pre>
+ * java -XX:StartFlightRecording=filename=backend.jfr,jdk.VirtualThreadPinned#threshold=0ms,jdk.VirtualThreadStart#enabled=true \
+ *     -jar market-digest-backend.jar ...
+ * java -cp target/loadtest.jar com.marketdigestai.loadtest.PinnedThreadReport backend.jfr
+ * </pre>
+ *
+ * Exits with status 1 when pinning was recorded or no virtual thread ran at all, 0 otherwise.
+ */
+public final class PinnedThreadReport {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 12;
+
+    private PinnedThreadReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: PinnedThreadReport <recording.jfr>");
+            System.exit(2);
+        }
+        Map<String, Long> pinnedByStack = new LinkedHashMap<>();
+        long virtualThreadStarts = 0;
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String name = event.getEventType().getName();
+                if (name.equals("jdk.VirtualThreadStart")) {
+                    virtualThreadStarts++;
+                } else if (name.equals(PINNED_EVENT)) {
+                    pinnedByStack.merge(describe(event.getStackTrace()), 1L, Long::sum);
+                }
+            }
+        }
+
+        long pinned = pinnedByStack.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf(Locale.ROOT, "%d virtual thread starts recorded, %d pinned events%n", virtualThreadStarts, pinned);
+        pinnedByStack.forEach((stack, count) -> System.out.printf(Locale.ROOT, "%nPinned %d times at:%n%s%n", count, stack));
+        if (virtualThreadStarts == 0) {
+            // Nothing could have been pinned; most likely the recording lacks jdk.VirtualThreadStart or virtual threads were off
+            System.err.println("No virtual thread starts in the recording; record jdk.VirtualThreadStart#enabled=true");
+            System.exit(1);
+        }
+        if (pinned > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "  (no stack trace recorded)";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        String stack = frames.stream()
+                .limit(MAX_FRAMES)
+                .map(frame -> "  " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining("\n"));
+        return frames.size() > MAX_FRAMES ? stack + "\n  ..." : stack;
+    }
+}
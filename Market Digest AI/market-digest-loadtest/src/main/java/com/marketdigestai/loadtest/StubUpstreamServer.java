@@ -0,0 +1,287 @@
+package com.marketdigestai.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for NewsAPI's {@code /v2/everything} and Gemini's {@code generateContent} and
+ * {@code streamGenerateContent} endpoints, so the backend can be load tested without real keys or quota.
+ *
+ * <p>
+ * Responses have the shape of the real ones. Latency is log-normal around a configurable median, a
+ * configurable fraction of calls fail, and the payload size is set by the number of articles and the
+ * length of descriptions and summaries. Articles are generated deterministically per company, so repeated
+ * fetches return the same URLs just as NewsAPI does between publications.
+ * </p>
+ *
+ * <pre>
+ * java -cp loadtest.jar com.marketdigestai.loadtest.StubUpstreamServer --port=19091 --news-latency=150ms \
+ *     --gemini-latency=2s --news-error-rate=0.01 --gemini-error-rate=0.02 --articles=10
+ * </pre>
+ */
+public final class StubUpstreamServer {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> SOURCES = List.of("Reuters", "Bloomberg", "CNBC", "The Verge",
+            "Financial Times", "MarketWatch", "Yahoo Finance", "Investor's Business Daily");
+    private static final List<String> HEADLINES = List.of("beats quarterly estimates", "cuts full-year guidance",
+            "announces share buyback", "faces regulatory probe", "expands into new markets", "names new CFO",
+            "shares slide after downgrade", "signs multiyear supply deal", "raises dividend", "unveils product lineup");
+    private static final String[] WORDS = ("revenue margin growth guidance analysts quarter demand outlook investors "
+            + "shares market sales profit forecast pricing costs segment cloud consumer supply chain regulators "
+            + "earnings momentum expectations competition strategy capital spending headcount").split(" ");
+
+    private final Duration newsLatency;
+    private final Duration geminiLatency;
+    private final double latencySigma;
+    private final double newsErrorRate;
+    private final double geminiErrorRate;
+    private final int articles;
+    private final int descriptionChars;
+    private final int summaryChars;
+    private final int streamChunks;
+    private final Instant epoch = Instant.now().truncatedTo(ChronoUnit.MINUTES);
+
+    private final Map<String, AtomicLong> calls = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+
+    private StubUpstreamServer(Options options) {
+        this.newsLatency = options.duration("news-latency", Duration.ofMillis(150));
+        this.geminiLatency = options.duration("gemini-latency", Duration.ofMillis(2000));
+        this.latencySigma = options.decimal("latency-sigma", 0.3);
+        this.newsErrorRate = options.decimal("news-error-rate", 0.0);
+        this.geminiErrorRate = options.decimal("gemini-error-rate", 0.0);
+        this.articles = options.integer("articles", 10);
+        this.descriptionChars = options.integer("description-chars", 240);
+        this.summaryChars = options.integer("summary-chars", 800);
+        this.streamChunks = Math.max(1, options.integer("stream-chunks", 8));
+        for (String route : List.of("news", "gemini", "gemini-stream")) {
+            calls.put(route, new AtomicLong());
+            errors.put(route, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = new Options(args);
+        StubUpstreamServer stub = new StubUpstreamServer(options);
+        int port = options.integer("port", 19091);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        // Handlers sleep to simulate upstream latency, so every in-flight call needs its own thread
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v2/everything", stub::handleNews);
+        server.createContext("/v1beta/models/", stub::handleGemini);
+        server.start();
+
+        Duration reportInterval = options.duration("report-interval", Duration.ofSeconds(10));
+        Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stub-report");
+            thread.setDaemon(true);
+            return thread;
+        }).scheduleAtFixedRate(stub::report, reportInterval.toMillis(), reportInterval.toMillis(), TimeUnit.MILLISECONDS);
+
+        System.out.printf(Locale.ROOT, "Stub NewsAPI/Gemini listening on port %d. Start the backend with "
+                + "--spring.profiles.active=loadtest (and STUB_PORT=%d if not 19091).%n", port, port);
+    }
+
+    private void handleNews(HttpExchange exchange) throws IOException {
+        try {
+            calls.get("news").incrementAndGet();
+            Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+            sleep(newsLatency);
+            if (fails(newsErrorRate)) {
+                errors.get("news").incrementAndGet();
+                ObjectNode error = MAPPER.createObjectNode()
+                        .put("status", "error")
+                        .put("code", "unexpectedError")
+                        .put("message", "Stub failure");
+                send(exchange, 500, "application/json", MAPPER.writeValueAsBytes(error));
+                return;
+            }
+            String company = query.getOrDefault("q", "Unknown");
+            int pageSize = query.containsKey("pageSize") ? Integer.parseInt(query.get("pageSize")) : articles;
+            send(exchange, 200, "application/json", MAPPER.writeValueAsBytes(newsResponse(company, Math.min(pageSize, articles))));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleGemini(HttpExchange exchange) throws IOException {
+        try {
+            boolean stream = exchange.getRequestURI().getPath().endsWith(":streamGenerateContent");
+            String route = stream ? "gemini-stream" : "gemini";
+            calls.get(route).incrementAndGet();
+            // The prompt size only feeds the reported token count
+            int promptBytes = exchange.getRequestBody().readAllBytes().length;
+            if (fails(geminiErrorRate)) {
+                sleep(geminiLatency);
+                errors.get(route).incrementAndGet();
+                ObjectNode error = MAPPER.createObjectNode();
+                error.putObject("error")
+                        .put("code", 503)
+                        .put("message", "The model is overloaded. Please try again later.")
+                        .put("status", "UNAVAILABLE");
+                send(exchange, 503, "application/json", MAPPER.writeValueAsBytes(error));
+                return;
+            }
+            String text = summaryText();
+            if (!stream) {
+                sleep(geminiLatency);
+                send(exchange, 200, "application/json", MAPPER.writeValueAsBytes(geminiResponse(text, promptBytes, true)));
+                return;
+            }
+            // Server-sent events: the latency is spread over the chunks, like tokens arriving over time
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            Duration total = latency(geminiLatency);
+            OutputStream out = exchange.getResponseBody();
+            int chunkLength = (text.length() + streamChunks - 1) / streamChunks;
+            for (int start = 0; start < text.length(); start += chunkLength) {
+                sleepExactly(total.dividedBy(streamChunks));
+                boolean last = start + chunkLength >= text.length();
+                String chunk = text.substring(start, Math.min(text.length(), start + chunkLength));
+                out.write(("data: " + MAPPER.writeValueAsString(geminiResponse(chunk, promptBytes, last)) + "\r\n\r\n")
+                        .getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private ObjectNode newsResponse(String company, int count) {
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("status", "ok")
+                .put("totalResults", 1000);
+        ArrayNode list = response.putArray("articles");
+        String slug = company.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        for (int i = 0; i < count; i++) {
+            Random random = new Random(31L * company.hashCode() + i);
+            String source = SOURCES.get(random.nextInt(SOURCES.size()));
+            String title = company + " " + HEADLINES.get(random.nextInt(HEADLINES.size()));
+            String description = title + ". " + filler(random, descriptionChars);
+            ObjectNode article = list.addObject();
+            article.putObject("source").putNull("id").put("name", source);
+            article.put("author", "Stub Reporter")
+                    .put("title", title)
+                    .put("description", description)
+                    .put("url", "https://news.stub.example/" + slug + "/" + i)
+                    .put("urlToImage", "https://images.stub.example/" + slug + "/" + i + ".jpg")
+                    .put("publishedAt", epoch.minus(Duration.ofMinutes(17L * i)).toString())
+                    .put("content", description.substring(0, Math.min(200, description.length())) + "… [+4000 chars]");
+        }
+        return response;
+    }
+
+    private String summaryText() {
+        ObjectNode summary = MAPPER.createObjectNode()
+                .put("summary", filler(ThreadLocalRandom.current(), summaryChars));
+        ArrayNode keyPoints = summary.putArray("keyPoints");
+        for (int i = 0; i < 5; i++) {
+            keyPoints.add(filler(ThreadLocalRandom.current(), 60));
+        }
+        summary.put("sentiment", List.of("Positive", "Neutral", "Negative").get(ThreadLocalRandom.current().nextInt(3)));
+        return "```json\n" + summary.toPrettyString() + "\n```";
+    }
+
+    private static ObjectNode geminiResponse(String text, int promptBytes, boolean last) {
+        ObjectNode response = MAPPER.createObjectNode();
+        ObjectNode candidate = response.putArray("candidates").addObject();
+        ObjectNode content = candidate.putObject("content");
+        content.putArray("parts").addObject().put("text", text);
+        content.put("role", "model");
+        candidate.put("index", 0);
+        if (last) {
+            candidate.put("finishReason", "STOP");
+            int promptTokens = promptBytes / 4;
+            int candidateTokens = text.length() / 4;
+            response.putObject("usageMetadata")
+                    .put("promptTokenCount", promptTokens)
+                    .put("candidatesTokenCount", candidateTokens)
+                    .put("totalTokenCount", promptTokens + candidateTokens);
+        }
+        response.put("modelVersion", "gemini-2.0-flash");
+        return response;
+    }
+
+    private static String filler(Random random, int chars) {
+        StringBuilder text = new StringBuilder(chars + 16);
+        while (text.length() < chars) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    private void report() {
+        StringBuilder line = new StringBuilder("calls:");
+        calls.forEach((route, count) -> line.append(' ').append(route).append('=').append(count.get())
+                .append(" (").append(errors.get(route).get()).append(" failed)"));
+        System.out.println(line);
+    }
+
+    private static boolean fails(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void sleep(Duration median) {
+        sleepExactly(latency(median));
+    }
+
+    /**
+     * Log-normal around {@code median}: most calls are close to it, a few are several times slower.
+     */
+    private Duration latency(Duration median) {
+        double factor = Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofNanos(Math.round(median.toNanos() * factor));
+    }
+
+    private static void sleepExactly(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+}
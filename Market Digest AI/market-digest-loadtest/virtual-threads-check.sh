@@ -0,0 +1,72 @@
+#!/bin/bash
+# Compares platform and virtual threads under the same thread-bound load and fails if any virtual thread was
+# pinned to its carrier. Needs a Java 21 runtime on PATH (or JAVA_HOME) and both jars built:
+#   (cd ../market-digest-backend && mvn package -DskipTests) && mvn package
+#
+# Tomcat is capped at TOMCAT_THREADS so that platform threads run out while requests wait on the stub's Gemini
+# latency; with virtual threads the same cap only bounds carrier threads. The Gemini guard's concurrency limit and the
+# outbound connection pool are lifted to CONCURRENCY so that neither turns the excess into fast fallbacks. Exit status is non-zero on pinning.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+LOADTEST_JAR=target/loadtest.jar
+BACKEND_JAR=$(ls ../market-digest-backend/target/market-digest-backend-*.jar | grep -v original | head -1)
+STUB_PORT=${STUB_PORT:-19091}
+BACKEND_PORT=${BACKEND_PORT:-18080}
+TOMCAT_THREADS=${TOMCAT_THREADS:-20}
+CONCURRENCY=${CONCURRENCY:-100}
+DURATION=${DURATION:-30s}
+GEMINI_LATENCY=${GEMINI_LATENCY:-2s}
+OUT=${OUT:-target/virtual-threads-check}
+
+if ! "$JAVA" -version 2>&1 | grep -Eq 'version "(2[1-9]|[3-9][0-9])'; then
+    echo "Virtual threads need Java 21 or later; set JAVA_HOME" >&2
+    exit 2
+fi
+mkdir -p "$OUT"
+PIDS=()
+trap 'kill "${PIDS[@]}" 2>/dev/null || true' EXIT
+
+"$JAVA" -cp "$LOADTEST_JAR" com.marketdigestai.loadtest.StubUpstreamServer --port="$STUB_PORT" \
+    --gemini-latency="$GEMINI_LATENCY" --report-interval=600s > "$OUT/stub.log" 2>&1 &
+PIDS+=($!)
+
+run() {
+    local mode=$1 virtual=$2
+    # The pinned-thread event has a 20 ms threshold by default; record every occurrence instead
+    env -u NEWS_API_KEY -u GEMINI_API_KEY PORT="$BACKEND_PORT" STUB_PORT="$STUB_PORT" VIRTUAL_THREADS_ENABLED="$virtual" \
+        "$JAVA" -Djdk.tracePinnedThreads=short \
+        "-XX:StartFlightRecording=filename=$OUT/$mode.jfr,jdk.VirtualThreadPinned#threshold=0ms,jdk.VirtualThreadStart#enabled=true" \
+        -jar "$BACKEND_JAR" --spring.profiles.active=loadtest --server.tomcat.threads.max="$TOMCAT_THREADS" \
+        --resilience.gemini.initial-limit="$CONCURRENCY" --resilience.gemini.max-limit="$CONCURRENCY" \
+        --http.client.max-per-route="$CONCURRENCY" --http.client.gemini.max-connections="$CONCURRENCY" \
+        > "$OUT/$mode.log" 2>&1 &
+    local backend=$!
+    PIDS+=($backend)
+    for _ in $(seq 1 60); do
+        curl -sf "localhost:$BACKEND_PORT/api/health" > /dev/null && break
+        sleep 1
+    done
+
+    echo "== $mode threads"
+    "$JAVA" -jar "$LOADTEST_JAR" --target="http://localhost:$BACKEND_PORT" --concurrency="$CONCURRENCY" \
+        --warmup=5s --duration="$DURATION" --mix=summarize:1 --cold-summaries=true | tee "$OUT/$mode.txt"
+    # SIGTERM lets the JVM write the recording before it exits
+    kill "$backend"
+    wait "$backend" || true
+}
+
+run platform false
+run virtual true
+
+echo "== pinning"
+status=0
+"$JAVA" -cp "$LOADTEST_JAR" com.marketdigestai.loadtest.PinnedThreadReport "$OUT/virtual.jfr" || status=1
+# The same check on jdk.tracePinnedThreads output, in case the recording was cut short
+if grep -q "<== monitors" "$OUT/virtual.log"; then
+    echo "jdk.tracePinnedThreads reported pinning, see $OUT/virtual.log"
+    status=1
+fi
+grep -h "^total" "$OUT/platform.txt" "$OUT/virtual.txt" | paste - - | awk '{ printf "Throughput: platform %s req/s, virtual %s req/s\n", $4, $8 }'
+exit $status